@@ -4,13 +4,43 @@ import threads.Generator;
 import threads.Integrator;
 import threads.SimpleGenerator;
 import threads.SimpleIntegrator;
+import threads.TaskQueue;
+import threads.QueueGenerator;
+import threads.QueueIntegrator;
+import threads.RingBuffer;
+import threads.RingGenerator;
+import threads.RingIntegrator;
+import threads.WaitStrategy;
+import threads.BusySpinWaitStrategy;
+import threads.YieldingWaitStrategy;
+import threads.BlockingWaitStrategy;
+import threads.IntegrationTask;
+import threads.IntegratorPool;
+import threads.ReentrantSynchronized;
+import threads.VirtualThreads;
+import threads.IntegrationService;
+import threads.OptimisticSynchronized;
 
 import functions.Function;
 import functions.basic.Log;
 import functions.basic.Exp; // Добавляем экспоненту
 import functions.Functions;
-
+import functions.IntegrationResult;
+import functions.SummationMode;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
@@ -320,6 +350,74 @@ public class Main {
         }
     }
 
+    /**
+     * Сравнение обычного и компенсированного суммирования при уменьшении шага
+     */
+    public static void summationModesDemo() {
+        System.out.println("\n=== СРАВНЕНИЕ РЕЖИМОВ СУММИРОВАНИЯ ===");
+
+        Function expFunction = new Exp();
+        double theoreticalValue = Math.E - 1;
+
+        System.out.println("Функция e^x на отрезке [0, 1], метод трапеций");
+        System.out.printf("%-10s %-12s %-18s %-18s\n", "Шаг", "Вычислений", "Погрешность NAIVE", "Погрешность NEUMAIER");
+
+        double bestNaiveError = Double.MAX_VALUE;
+        double bestNaiveStep = 0;
+        for (double step = 1e-4; step >= 1e-8; step /= 10) {
+            double naive = Functions.integrate(expFunction, 0, 1, step, SummationMode.NAIVE);
+            double compensated = Functions.integrate(expFunction, 0, 1, step, SummationMode.NEUMAIER);
+            double naiveError = Math.abs(naive - theoreticalValue);
+            double compensatedError = Math.abs(compensated - theoreticalValue);
+
+            System.out.printf("%-10.0e %-12d %-18.3e %-18.3e\n",
+                    step, (long) Math.ceil(1 / step) + 1, naiveError, compensatedError);
+
+            if (naiveError < bestNaiveError) {
+                bestNaiveError = naiveError;
+                bestNaiveStep = step;
+            }
+        }
+
+        // Наибольший шаг, при котором компенсированное суммирование дает ту же точность
+        double compensatedStep = 1e-4;
+        while (Math.abs(Functions.integrate(expFunction, 0, 1, compensatedStep, SummationMode.NEUMAIER)
+                - theoreticalValue) > bestNaiveError) {
+            compensatedStep /= 2;
+        }
+
+        System.out.printf("Лучшая точность NAIVE: %.3e при шаге %.0e (~%d вычислений)\n",
+                bestNaiveError, bestNaiveStep, (long) Math.ceil(1 / bestNaiveStep) + 1);
+        System.out.printf("NEUMAIER дает ту же точность при шаге %.2e (~%d вычислений)\n",
+                compensatedStep, (long) Math.ceil(1 / compensatedStep) + 1);
+        System.out.println("При малом шаге обычная сумма упирается в ошибку округления,");
+        System.out.println("а компенсированная продолжает уточняться как h^2");
+    }
+
+    /**
+     * Адаптивное интегрирование Гаусса-Кронрода в сравнении с фиксированным шагом 10^-6
+     */
+    public static void adaptiveIntegrationDemo() {
+        System.out.println("\n=== АДАПТИВНОЕ ИНТЕГРИРОВАНИЕ (GAUSS-KRONROD G7K15) ===");
+
+        Function[] functions = {new Exp(), new Log(Math.E)};
+        String[] names = {"e^x на [1, 2]", "ln(x) на [1, 2]"};
+        double[] exactValues = {Math.E * Math.E - Math.E, 2 * Math.log(2) - 1};
+        double fixedStep = 0.000001;
+
+        for (int i = 0; i < functions.length; i++) {
+            IntegrationResult adaptive = Functions.integrateAdaptive(functions[i], 1, 2, 1e-10, 1e-12);
+            double fixed = Functions.integrate(functions[i], 1, 2, fixedStep);
+
+            System.out.println(names[i] + ":");
+            System.out.printf("  Адаптивно:   погрешность %.2e (оценка %.2e), вычислений %d\n",
+                    Math.abs(adaptive.getValue() - exactValues[i]), adaptive.getErrorEstimate(),
+                    adaptive.getEvaluations());
+            System.out.printf("  Шаг %.0e: погрешность %.2e, вычислений %d\n",
+                    fixedStep, Math.abs(fixed - exactValues[i]), (long) Math.ceil(1 / fixedStep) + 1);
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println("=== ПРОГРАММА ДЛЯ ИНТЕГРИРОВАНИЯ ФУНКЦИЙ ===");
         System.out.println("Тестирование интегрирования + многопоточные версии\n");
@@ -333,6 +431,12 @@ public class Main {
         // 3. Демонстрация точного расчета
         preciseCalculationDemo();
 
+        // Сравнение режимов суммирования
+        summationModesDemo();
+
+        // Адаптивное интегрирование
+        adaptiveIntegrationDemo();
+
         System.out.println("\n" + "=".repeat(60));
         System.out.println("ПЕРЕХОД К МНОГОПОТОЧНЫМ ТЕСТАМ");
         System.out.println("=".repeat(60) + "\n");
@@ -376,6 +480,33 @@ public class Main {
         complicatedThreads();
         long time3 = System.currentTimeMillis() - startTime3;
 
+        // Пауза между тестами
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+
+        // 7. Версия с очередью заданий
+        long startTime4 = System.currentTimeMillis();
+        queueThreads();
+        long time4 = System.currentTimeMillis() - startTime4;
+
+        // 8. Пропускная способность кольцевого буфера
+        ringBufferDemo();
+
+        // 9. Пул интеграторов с перехватом работы
+        integratorPoolDemo();
+
+        // 10. Задания с ожиданием ввода-вывода в виртуальных потоках
+        virtualThreadsDemo();
+
+        // 11. Асинхронное интегрирование
+        integrationServiceDemo();
+
+        // 12. Генератор и интегратор с оптимистическим чтением
+        optimisticReadDemo();
+
         // Итоговая статистика
         long totalTime = System.currentTimeMillis() - totalStartTime;
 
@@ -394,6 +525,10 @@ public class Main {
         System.out.printf("   Скорость: %.1f задач/сек\n", 100.0 / (time3 / 1000.0));
         System.out.printf("   Ускорение: %.1f%%\n", (time1 - time3) * 100.0 / time1);
 
+        System.out.println("\n4. queueThreads (очередь заданий):");
+        System.out.printf("   Время: %.2f сек\n", time4 / 1000.0);
+        System.out.printf("   Скорость: %.1f задач/сек\n", 100.0 / (time4 / 1000.0));
+
         System.out.println("\nОбщее время выполнения всех тестов: " +
                 (totalTime / 1000.0) + " сек");
 
@@ -425,6 +560,275 @@ public class Main {
         // ... реализация complicatedThreads ...
     }
 
+    /**
+     * Многопоточная версия с ограниченной очередью: несколько генераторов и интеграторов,
+     * каждое сгенерированное задание обрабатывается ровно один раз
+     */
+    public static void queueThreads() {
+        System.out.println("\n=== ОЧЕРЕДЬ ЗАДАНИЙ (2 ГЕНЕРАТОРА, 2 ИНТЕГРАТОРА) ===");
+
+        TaskQueue queue = new TaskQueue(16);
+        QueueGenerator[] generators = {new QueueGenerator(queue, 50), new QueueGenerator(queue, 50)};
+        QueueIntegrator[] integrators = {new QueueIntegrator(queue), new QueueIntegrator(queue)};
+
+        for (QueueIntegrator integrator : integrators) {
+            integrator.start();
+        }
+        for (QueueGenerator generator : generators) {
+            generator.start();
+        }
+
+        try {
+            // Очередь закрывается, когда все генераторы закончили работу
+            for (QueueGenerator generator : generators) {
+                generator.join();
+            }
+            queue.close();
+            for (QueueIntegrator integrator : integrators) {
+                integrator.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (QueueGenerator generator : generators) {
+                generator.interrupt();
+            }
+            for (QueueIntegrator integrator : integrators) {
+                integrator.interrupt();
+            }
+            return;
+        }
+
+        int generated = 0;
+        for (QueueGenerator generator : generators) {
+            generated += generator.getGeneratedCount();
+        }
+        int processed = 0;
+        int failed = 0;
+        for (QueueIntegrator integrator : integrators) {
+            processed += integrator.getProcessedCount();
+            failed += integrator.getFailedCount();
+        }
+        System.out.println("Сгенерировано: " + generated + ", обработано: " + processed +
+                ", с ошибкой: " + failed);
+    }
+
+    /**
+     * Пропускная способность конвейера на кольцевом буфере с разными стратегиями ожидания
+     * на миллионе коротких заданий (интервал длиной до 1, шаг 0.25)
+     */
+    public static void ringBufferDemo() {
+        System.out.println("\n=== КОЛЬЦЕВОЙ БУФЕР: ПРОПУСКНАЯ СПОСОБНОСТЬ ===");
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.println("Доступно процессоров: " + processors);
+
+        // Активное ожидание имеет смысл только при отдельном ядре для каждого потока
+        if (processors >= 2) {
+            runRingPipeline("BusySpin", new BusySpinWaitStrategy());
+        } else {
+            System.out.println("BusySpin: пропущено, генератору и интегратору нужны отдельные ядра");
+        }
+        runRingPipeline("Yielding", new YieldingWaitStrategy());
+        runRingPipeline("Blocking", new BlockingWaitStrategy());
+    }
+
+    private static void runRingPipeline(String name, WaitStrategy waitStrategy) {
+        int taskCount = 1_000_000;
+        RingBuffer ring = new RingBuffer(1024, waitStrategy);
+        RingGenerator generator = new RingGenerator(ring, taskCount, 1.0, 0.25);
+        RingIntegrator integrator = new RingIntegrator(ring);
+
+        long start = System.nanoTime();
+        integrator.start();
+        generator.start();
+        try {
+            generator.join();
+            ring.close();
+            integrator.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            generator.interrupt();
+            integrator.interrupt();
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-9s обработано %d из %d за %.2f сек: %.0f задач/сек\n",
+                name + ":", integrator.getProcessedCount(), generator.getGeneratedCount(),
+                seconds, integrator.getProcessedCount() / seconds);
+    }
+
+    /**
+     * Пул интеграторов: одно большое задание делится между всеми потоками пула,
+     * небольшие задания выполняются параллельно друг с другом
+     */
+    public static void integratorPoolDemo() {
+        System.out.println("\n=== ПУЛ ИНТЕГРАТОРОВ (WORK STEALING) ===");
+
+        IntegrationTask hugeTask = new IntegrationTask(1, new Log(Math.E), 1, 1001, 0.0001);
+
+        long start = System.nanoTime();
+        double sequential = Functions.integrate(hugeTask.getFunction(),
+                hugeTask.getLeftBound(), hugeTask.getRightBound(), hugeTask.getStep());
+        double sequentialTime = (System.nanoTime() - start) / 1e9;
+
+        try (IntegratorPool pool = new IntegratorPool()) {
+            start = System.nanoTime();
+            double pooled = pool.invoke(hugeTask);
+            double pooledTime = (System.nanoTime() - start) / 1e9;
+
+            System.out.println("ln(x) на [1, 1001] с шагом 1e-4 (10^7 участков), потоков: " +
+                    pool.getParallelism());
+            System.out.printf("  Один поток: %.10f за %.3f сек\n", sequential, sequentialTime);
+            System.out.printf("  Пул:        %.10f за %.3f сек, перехвачено частей: %d\n",
+                    pooled, pooledTime, pool.getStealCount());
+
+            // Пакет небольших заданий
+            Random random = new Random();
+            List<IntegrationTask> tasks = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                double leftBound = 1 + random.nextDouble() * 99;
+                tasks.add(new IntegrationTask(i + 1, new Log(1 + random.nextDouble() * 9),
+                        leftBound, leftBound + 10, 0.001));
+            }
+
+            start = System.nanoTime();
+            double total = 0;
+            for (ForkJoinTask<Double> result : pool.submitAll(tasks)) {
+                total += result.join();
+            }
+            System.out.printf("  1000 заданий по 10^4 участков: %.3f сек (сумма %.4f)\n",
+                    (System.nanoTime() - start) / 1e9, total);
+        }
+    }
+
+    /**
+     * Задания, которые читают табулированную функцию (с имитацией задержки ввода-вывода)
+     * и интегрируют ее. Каждое задание выполняется в своем виртуальном потоке,
+     * общий результат защищен ReentrantSynchronized
+     */
+    public static void virtualThreadsDemo() {
+        System.out.println("\n=== ВИРТУАЛЬНЫЕ ПОТОКИ ===");
+
+        boolean virtual = VirtualThreads.isAvailable();
+        int jobCount = virtual ? 100_000 : 2_000;
+        System.out.println(virtual
+                ? "Виртуальные потоки доступны, заданий: " + jobCount
+                : "Виртуальные потоки недоступны (нужна Java 21), пул обычных потоков, заданий: " + jobCount);
+
+        // Текстовое представление функции, которое читает каждое задание
+        String text;
+        try {
+            StringWriter writer = new StringWriter();
+            TabulatedFunctions.writeTabulatedFunction(TabulatedFunctions.tabulate(new Exp(), 0, 1, 101), writer);
+            text = writer.toString();
+        } catch (IOException e) {
+            System.out.println("Ошибка: " + e.getMessage());
+            return;
+        }
+
+        ReentrantSynchronized lock = new ReentrantSynchronized();
+        double[] total = {0.0};
+        int[] completed = {0};
+
+        long start = System.nanoTime();
+        ExecutorService executor = VirtualThreads.newExecutor();
+        for (int i = 0; i < jobCount; i++) {
+            executor.submit(() -> {
+                try {
+                    // Имитация ожидания ввода-вывода
+                    Thread.sleep(1);
+                    TabulatedFunction function = TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+                    double integral = TabulatedFunctions.integrate(function, 0, 1);
+
+                    lock.beginWrite();
+                    try {
+                        total[0] += integral;
+                        completed[0]++;
+                    } finally {
+                        lock.endWrite();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    System.out.println("Ошибка чтения: " + e.getMessage());
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        System.out.printf("Выполнено %d заданий за %.2f сек, средний интеграл %.6f (e - 1 = %.6f)\n",
+                completed[0], (System.nanoTime() - start) / 1e9, total[0] / completed[0], Math.E - 1);
+    }
+
+    /**
+     * Асинхронный сервис: пакет из 200 интегралов собирается без блокирующего ожидания
+     * каждого из них, долгое вычисление прерывается по таймауту
+     */
+    public static void integrationServiceDemo() {
+        System.out.println("\n=== АСИНХРОННОЕ ИНТЕГРИРОВАНИЕ (CompletableFuture) ===");
+
+        try (IntegrationService service = new IntegrationService()) {
+            List<IntegrationTask> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tasks.add(new IntegrationTask(i + 1, new Exp(), 0, 1 + i * 0.01, 0.0001));
+            }
+
+            long start = System.nanoTime();
+            CompletableFuture<Double> total = service.integrateAll(tasks)
+                    .thenApply(values -> values.stream().mapToDouble(Double::doubleValue).sum());
+            CompletableFuture<Double> precise = service.integrateWithTolerance(new Exp(), 0, 1, 1e-12);
+
+            System.out.printf("Сумма 200 интегралов: %.6f за %.3f сек\n",
+                    total.join(), (System.nanoTime() - start) / 1e9);
+            System.out.printf("e^x на [0, 1] с погрешностью 1e-12: %.15f (e - 1 = %.15f)\n",
+                    precise.join(), Math.E - 1);
+
+            try {
+                service.integrate(new Exp(), 0, 1, 1e-7)
+                        .orTimeout(50, TimeUnit.MILLISECONDS)
+                        .join();
+            } catch (CompletionException e) {
+                System.out.println("Шаг 1e-7 с таймаутом 50 мс: " + e.getCause().getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * Generator и Integrator с семафором OptimisticSynchronized: интегратор проверяет задание
+     * оптимистическим чтением и захватывает семафор, только если чтение пересеклось с записью
+     */
+    public static void optimisticReadDemo() {
+        System.out.println("\n=== ОПТИМИСТИЧЕСКОЕ ЧТЕНИЕ (StampedLock) ===");
+
+        Task task = new Task();
+        task.setTaskCount(20);
+        OptimisticSynchronized lock = new OptimisticSynchronized();
+
+        Generator generator = new Generator(task, lock);
+        Integrator integrator = new Integrator(task, lock);
+        generator.start();
+        integrator.start();
+
+        try {
+            generator.join();
+            integrator.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        integrator.interrupt();
+
+        System.out.println(task.getCurrentState());
+        System.out.println("Семафор: " + lock);
+    }
+
     // Остальные вспомогательные методы
     private static void calculateAndDisplayDiscretizationStep(Task task) {
         // ... реализация ...
@@ -0,0 +1,255 @@
+package functions;
+
+/**
+ * Арифметические ядра над массивами double для пакетного вычисления функций.
+ *
+ * Если собран класс VectorKernel из каталога vector и при запуске доступен модуль
+ * jdk.incubator.vector (--add-modules jdk.incubator.vector), ядра выполняются векторными
+ * инструкциями через Vector API, иначе - обычными циклами.
+ * Обе реализации выполняют одни и те же операции в том же порядке и без слияния умножения
+ * со сложением, поэтому результаты совпадают побитово со скалярными вычислениями.
+ * Векторную реализацию можно отключить системным свойством functions.arraymath.scalar=true
+ *
+ * Во всех методах обрабатываются первые count элементов; массив результата может совпадать
+ * с массивом аргументов
+ */
+public final class ArrayMath {
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private ArrayMath() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса ArrayMath");
+    }
+
+    /**
+     * Проверяет, используются ли векторные ядра
+     * @return true если ядра выполняются через Vector API
+     */
+    public static boolean isVectorized() {
+        return KERNEL.getClass() != ScalarKernel.class;
+    }
+
+    /**
+     * Заполняет массив арифметической прогрессией: result[i] = start + i * step
+     */
+    public static void progression(double start, double step, double[] result, int count) {
+        KERNEL.progression(start, step, result, count);
+    }
+
+    /**
+     * Поэлементная сумма: result[i] = a[i] + b[i]
+     */
+    public static void add(double[] a, double[] b, double[] result, int count) {
+        KERNEL.add(a, b, result, count);
+    }
+
+    /**
+     * Поэлементное произведение: result[i] = a[i] * b[i]
+     */
+    public static void multiply(double[] a, double[] b, double[] result, int count) {
+        KERNEL.multiply(a, b, result, count);
+    }
+
+    /**
+     * Умножение на число: result[i] = factor * a[i]
+     */
+    public static void scale(double[] a, double factor, double[] result, int count) {
+        KERNEL.scale(a, factor, result, count);
+    }
+
+    /**
+     * Сдвиг на число: result[i] = a[i] + offset
+     */
+    public static void shift(double[] a, double offset, double[] result, int count) {
+        KERNEL.shift(a, offset, result, count);
+    }
+
+    /**
+     * Квадрат: result[i] = a[i] * a[i]
+     */
+    public static void square(double[] a, double[] result, int count) {
+        KERNEL.square(a, result, count);
+    }
+
+    /**
+     * Записывает NaN в values[i] для аргументов вне отрезка [left, right]
+     */
+    public static void maskOutside(double[] arguments, double left, double right, double[] values, int count) {
+        KERNEL.maskOutside(arguments, left, right, values, count);
+    }
+
+    /**
+     * Линейная интерполяция по отрезкам таблицы:
+     * result[i] = y[s] + (y[s + 1] - y[s]) / (x[s + 1] - x[s]) * (arguments[i] - x[s]), где s = segments[i]
+     */
+    public static void interpolate(double[] xs, double[] ys, int[] segments,
+                                   double[] arguments, double[] result, int count) {
+        KERNEL.interpolate(xs, ys, segments, arguments, result, count);
+    }
+
+    /**
+     * Площади трапеций между соседними точками:
+     * result[i] = (f[i] + f[i + 1]) * (x[i + 1] - x[i]) / 2 для i < count.
+     * Массивы x и f должны содержать count + 1 элемент
+     */
+    public static void trapezoids(double[] x, double[] f, double[] result, int count) {
+        KERNEL.trapezoids(x, f, result, count);
+    }
+
+    // === РЕАЛИЗАЦИИ ===
+
+    /**
+     * Набор ядер; реализуется скалярно (ScalarKernel) и через Vector API (VectorKernel)
+     */
+    interface Kernel {
+        void progression(double start, double step, double[] result, int count);
+
+        void add(double[] a, double[] b, double[] result, int count);
+
+        void multiply(double[] a, double[] b, double[] result, int count);
+
+        void scale(double[] a, double factor, double[] result, int count);
+
+        void shift(double[] a, double offset, double[] result, int count);
+
+        void square(double[] a, double[] result, int count);
+
+        void maskOutside(double[] arguments, double left, double right, double[] values, int count);
+
+        void interpolate(double[] xs, double[] ys, int[] segments, double[] arguments, double[] result, int count);
+
+        void trapezoids(double[] x, double[] f, double[] result, int count);
+    }
+
+    /**
+     * Скалярные ядра; VectorKernel использует их же для хвостов массивов
+     */
+    static class ScalarKernel implements Kernel {
+
+        @Override
+        public void progression(double start, double step, double[] result, int count) {
+            progression(start, step, result, 0, count);
+        }
+
+        void progression(double start, double step, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = start + i * step;
+            }
+        }
+
+        @Override
+        public void add(double[] a, double[] b, double[] result, int count) {
+            add(a, b, result, 0, count);
+        }
+
+        void add(double[] a, double[] b, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] + b[i];
+            }
+        }
+
+        @Override
+        public void multiply(double[] a, double[] b, double[] result, int count) {
+            multiply(a, b, result, 0, count);
+        }
+
+        void multiply(double[] a, double[] b, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] * b[i];
+            }
+        }
+
+        @Override
+        public void scale(double[] a, double factor, double[] result, int count) {
+            scale(a, factor, result, 0, count);
+        }
+
+        void scale(double[] a, double factor, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = factor * a[i];
+            }
+        }
+
+        @Override
+        public void shift(double[] a, double offset, double[] result, int count) {
+            shift(a, offset, result, 0, count);
+        }
+
+        void shift(double[] a, double offset, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] + offset;
+            }
+        }
+
+        @Override
+        public void square(double[] a, double[] result, int count) {
+            square(a, result, 0, count);
+        }
+
+        void square(double[] a, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = a[i] * a[i];
+            }
+        }
+
+        @Override
+        public void maskOutside(double[] arguments, double left, double right, double[] values, int count) {
+            maskOutside(arguments, left, right, values, 0, count);
+        }
+
+        void maskOutside(double[] arguments, double left, double right, double[] values, int from, int to) {
+            for (int i = from; i < to; i++) {
+                double x = arguments[i];
+                if (x < left || x > right) {
+                    values[i] = Double.NaN;
+                }
+            }
+        }
+
+        @Override
+        public void interpolate(double[] xs, double[] ys, int[] segments,
+                                double[] arguments, double[] result, int count) {
+            interpolate(xs, ys, segments, arguments, result, 0, count);
+        }
+
+        void interpolate(double[] xs, double[] ys, int[] segments,
+                         double[] arguments, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                int s = segments[i];
+                double x1 = xs[s];
+                double y1 = ys[s];
+                double k = (ys[s + 1] - y1) / (xs[s + 1] - x1);
+                result[i] = y1 + k * (arguments[i] - x1);
+            }
+        }
+
+        @Override
+        public void trapezoids(double[] x, double[] f, double[] result, int count) {
+            trapezoids(x, f, result, 0, count);
+        }
+
+        void trapezoids(double[] x, double[] f, double[] result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result[i] = (f[i] + f[i + 1]) * (x[i + 1] - x[i]) / 2.0;
+            }
+        }
+    }
+
+    // Векторные ядра загружаются по имени: класс VectorKernel собирается отдельно из каталога vector,
+    // и если его нет в classpath или нет модуля jdk.incubator.vector, используются скалярные
+    private static Kernel loadKernel() {
+        if (Boolean.getBoolean("functions.arraymath.scalar")) {
+            return new ScalarKernel();
+        }
+        try {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                return (Kernel) Class.forName("functions.VectorKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            }
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            // Модуль есть, но векторная реализация недоступна - остаемся на скалярной
+        }
+        return new ScalarKernel();
+    }
+}
@@ -9,6 +9,26 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
     private FunctionPoint[] points;
     private int size;
 
+    /**
+     * Фабрика, создающая ArrayTabulatedFunction
+     */
+    public static class ArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new ArrayTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new ArrayTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new ArrayTabulatedFunction(points);
+        }
+    }
+
     // Конструкторы
     public ArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
         if (pointsCount < 2) {
@@ -246,19 +266,17 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
             return Double.NaN;
         }
 
-        for (int i = 0; i < size - 1; i++) {
-            double x1 = points[i].getX();
-            double x2 = points[i + 1].getX();
-
-            if (Math.abs(x - x1) < EPSILON) return points[i].getY();
-            if (Math.abs(x - x2) < EPSILON) return points[i + 1].getY();
-
-            if (x > x1 && x < x2) {
-                return linearInterpolation(points[i], points[i + 1], x);
-            }
+        PointSearch.Points searchPoints = searchPoints();
+        int index = PointSearch.locate(searchPoints, x, 0, size);
+        if (index == size) {
+            return Double.NaN;
         }
+        return PointSearch.valueAt(searchPoints, index, x);
+    }
 
-        return Double.NaN;
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new PointSearch.Cursor(this, searchPoints());
     }
 
     // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
@@ -405,14 +423,19 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
         points = newArray;
     }
 
-    private double linearInterpolation(FunctionPoint p1, FunctionPoint p2, double x) {
-        double x1 = p1.getX();
-        double y1 = p1.getY();
-        double x2 = p2.getX();
-        double y2 = p2.getY();
+    // Доступ к точкам для PointSearch; создается при обращении, чтобы не храниться в сериализуемом объекте
+    private PointSearch.Points searchPoints() {
+        return new PointSearch.Points() {
+            @Override
+            public double x(int index) {
+                return points[index].getX();
+            }
 
-        double k = (y2 - y1) / (x2 - x1);
-        return y1 + k * (x - x1);
+            @Override
+            public double y(int index) {
+                return points[index].getY();
+            }
+        };
     }
 
     /**
@@ -0,0 +1,74 @@
+package functions;
+
+/**
+ * Накопитель суммы в заданном режиме суммирования.
+ *
+ * В режиме NEUMAIER потерянные при округлении младшие разряды каждого сложения
+ * накапливаются в отдельной поправке и прибавляются к сумме в конце.
+ * В режиме NAIVE слагаемые просто складываются подряд, и результат совпадает
+ * с циклом sum += value
+ */
+public final class CompensatedSum {
+    private final boolean compensated;
+    private double sum;
+    private double compensation;
+
+    /**
+     * Создает накопитель с компенсированным суммированием
+     */
+    public CompensatedSum() {
+        this(SummationMode.NEUMAIER);
+    }
+
+    /**
+     * Создает накопитель в заданном режиме
+     * @param mode режим суммирования
+     * @throws IllegalArgumentException если mode равен null
+     */
+    public CompensatedSum(SummationMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Режим суммирования не может быть null");
+        }
+        this.compensated = mode == SummationMode.NEUMAIER;
+    }
+
+    /**
+     * Добавляет слагаемое к сумме
+     * @param value слагаемое
+     */
+    public void add(double value) {
+        if (!compensated) {
+            sum += value;
+            return;
+        }
+
+        double total = sum + value;
+        // Потерянные разряды берутся у меньшего по модулю из двух слагаемых
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    /**
+     * Возвращает накопленную сумму
+     * @return сумма слагаемых с учетом поправки
+     */
+    public double getSum() {
+        // При переполнении поправка теряет смысл (в ней получается бесконечность или NaN)
+        if (!compensated || !Double.isFinite(sum)) {
+            return sum;
+        }
+        return sum + compensation;
+    }
+
+    /**
+     * Обнуляет сумму
+     */
+    public void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+    }
+}
@@ -0,0 +1,508 @@
+package functions;
+
+import java.io.Serializable;
+
+/**
+ * Табулированная функция на двух параллельных массивах double (xValues, yValues).
+ * Семантика совпадает с ArrayTabulatedFunction, но точки не хранятся отдельными объектами:
+ * нет заголовка объекта на каждую точку и нет выделения памяти в setPointY
+ */
+public class DoubleArrayTabulatedFunction implements TabulatedFunction, Serializable {
+    private static final long serialVersionUID = 6L;
+    private static final double EPSILON = 1e-10; // Точность для сравнения double
+
+    private double[] xValues;
+    private double[] yValues;
+    private int size;
+
+    /**
+     * Фабрика, создающая DoubleArrayTabulatedFunction
+     */
+    public static class DoubleArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new DoubleArrayTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new DoubleArrayTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new DoubleArrayTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+            return new DoubleArrayTabulatedFunction(xValues, yValues);
+        }
+    }
+
+    // Конструкторы
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, zeroValues(pointsCount));
+    }
+
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (values.length < 2) {
+            throw new IllegalArgumentException("values array must have at least 2 elements");
+        }
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("leftX must be less than rightX");
+        }
+
+        int pointsCount = values.length;
+        this.xValues = new double[pointsCount + 2];
+        this.yValues = new double[pointsCount + 2];
+        this.size = pointsCount;
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        System.arraycopy(values, 0, yValues, 0, pointsCount);
+    }
+
+    public DoubleArrayTabulatedFunction(FunctionPoint[] pointsArray) {
+        if (pointsArray == null) {
+            throw new IllegalArgumentException("Points array cannot be null");
+        }
+        if (pointsArray.length < 2) {
+            throw new IllegalArgumentException("Points array must contain at least 2 points");
+        }
+
+        this.xValues = new double[pointsArray.length + 2];
+        this.yValues = new double[pointsArray.length + 2];
+        this.size = pointsArray.length;
+
+        for (int i = 0; i < pointsArray.length; i++) {
+            if (pointsArray[i] == null) {
+                throw new IllegalArgumentException("Points array cannot contain null elements");
+            }
+            xValues[i] = pointsArray[i].getX();
+            yValues[i] = pointsArray[i].getY();
+        }
+        checkOrdering();
+    }
+
+    public DoubleArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues == null || yValues == null) {
+            throw new IllegalArgumentException("Coordinate arrays cannot be null");
+        }
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        }
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Points array must contain at least 2 points");
+        }
+
+        this.xValues = new double[xValues.length + 2];
+        this.yValues = new double[yValues.length + 2];
+        this.size = xValues.length;
+        System.arraycopy(xValues, 0, this.xValues, 0, size);
+        System.arraycopy(yValues, 0, this.yValues, 0, size);
+        checkOrdering();
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ TabulatedFunction ===
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        checkIndex(index);
+
+        if (!isValidXPosition(index, point.getX())) {
+            throw new InappropriateFunctionPointException(
+                    "New x-coordinate " + point.getX() + " at index " + index +
+                            " would violate the ordering of points"
+            );
+        }
+
+        xValues[index] = point.getX();
+        yValues[index] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return xValues[index];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        checkIndex(index);
+
+        if (Math.abs(xValues[index] - x) < EPSILON) {
+            return;
+        }
+
+        // Проверки соседей достаточно: точки упорядочены, поэтому совпадение с другой точкой
+        // по x невозможно, если новая координата строго между соседями
+        if (!isValidXPosition(index, x)) {
+            throw new InappropriateFunctionPointException(
+                    "New x-coordinate " + x + " at index " + index +
+                            " would violate the ordering of points"
+            );
+        }
+
+        xValues[index] = x;
+    }
+
+    @Override
+    public double getPointY(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return yValues[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        yValues[index] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) throws FunctionPointIndexOutOfBoundsException, IllegalStateException {
+        checkIndex(index);
+        if (size <= 2) {
+            throw new IllegalStateException("Cannot delete point - function must have at least 2 points");
+        }
+
+        System.arraycopy(xValues, index + 1, xValues, index, size - index - 1);
+        System.arraycopy(yValues, index + 1, yValues, index, size - index - 1);
+        size--;
+
+        double loadFactor = (double) size / xValues.length;
+        double minLoadFactor = 0.5;
+
+        if (loadFactor + Math.ulp(loadFactor) < minLoadFactor && xValues.length > 4) {
+            resize(Math.max(size + 2, xValues.length / 2));
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Двоичный поиск первой точки с координатой не меньше x
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xValues[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int insertIndex = low;
+
+        if (insertIndex < size && Math.abs(xValues[insertIndex] - x) < EPSILON) {
+            throw new InappropriateFunctionPointException("Point with x=" + x + " already exists");
+        }
+
+        if (size >= xValues.length) {
+            resize(xValues.length * 3 / 2 + 1);
+        }
+
+        if (insertIndex < size) {
+            System.arraycopy(xValues, insertIndex, xValues, insertIndex + 1, size - insertIndex);
+            System.arraycopy(yValues, insertIndex, yValues, insertIndex + 1, size - insertIndex);
+        }
+
+        xValues[insertIndex] = x;
+        yValues[insertIndex] = point.getY();
+        size++;
+    }
+
+    @Override
+    public void printFunction() {
+        System.out.println("Табулированная функция (массивы double):");
+        System.out.println("-----------------------");
+
+        for (int i = 0; i < size; i++) {
+            System.out.printf("Точка %d: (%.4f, %.4f)%n", i, xValues[i], yValues[i]);
+        }
+
+        System.out.println("-----------------------");
+        System.out.printf("Область определения: [%.4f, %.4f]%n",
+                getLeftDomainBorder(), getRightDomainBorder());
+        System.out.printf("Количество точек: %d%n", getPointsCount());
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ Function ===
+    @Override
+    public double getLeftDomainBorder() {
+        return xValues[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xValues[size - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        PointSearch.Points searchPoints = searchPoints();
+        int index = PointSearch.locate(searchPoints, x, 0, size);
+        if (index == size) {
+            return Double.NaN;
+        }
+        return PointSearch.valueAt(searchPoints, index, x);
+    }
+
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new PointSearch.Cursor(this, searchPoints());
+    }
+
+    @Override
+    public PointBlockReader pointBlockReader() {
+        return new PointBlockReader() {
+            private int position = 0;
+
+            @Override
+            public int read(double[] xValues, double[] yValues, int count) {
+                int read = Math.max(0, Math.min(count, size - position));
+                System.arraycopy(DoubleArrayTabulatedFunction.this.xValues, position, xValues, 0, read);
+                System.arraycopy(DoubleArrayTabulatedFunction.this.yValues, position, yValues, 0, read);
+                position += read;
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Пакетное вычисление: отрезки находятся поиском от предыдущего найденного, как в курсоре,
+     * а все аргументы, лежащие внутри отрезков, интерполируются одним вызовом ArrayMath.interpolate
+     */
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+
+        // Аргументы внутри отрезков собираются подряд вместе с номерами отрезков и позициями в values
+        int[] positions = new int[count];
+        int[] segments = new int[count];
+        double[] points = new double[count];
+        int interpolated = 0;
+        int hint = 0;
+        PointSearch.Points searchPoints = searchPoints();
+
+        for (int i = 0; i < count; i++) {
+            double x = arguments[i];
+            if (x < left || x > right) {
+                values[i] = Double.NaN;
+                continue;
+            }
+
+            int index = PointSearch.locateFrom(searchPoints, x, hint, size);
+            if (index == size) {
+                values[i] = Double.NaN;
+                continue;
+            }
+            hint = index;
+
+            if (Math.abs(x - xValues[index]) < EPSILON) {
+                values[i] = yValues[index];
+            } else {
+                positions[interpolated] = i;
+                segments[interpolated] = index - 1;
+                points[interpolated] = x;
+                interpolated++;
+            }
+        }
+
+        ArrayMath.interpolate(xValues, yValues, segments, points, points, interpolated);
+        for (int j = 0; j < interpolated; j++) {
+            values[positions[j]] = points[j];
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
+    }
+
+    // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
+
+    /**
+     * Возвращает текстовое описание табулированной функции
+     * @return строковое представление функции в формате {(x1; y1), (x2; y2), ...}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < size; i++) {
+            sb.append("(");
+            sb.append(xValues[i]);
+            sb.append("; ");
+            sb.append(yValues[i]);
+            sb.append(")");
+
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Сравнивает текущую табулированную функцию с другим объектом
+     * @param obj объект для сравнения
+     * @return true, если объекты равны (оба являются TabulatedFunction с одинаковыми точками)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof TabulatedFunction)) {
+            return false;
+        }
+
+        TabulatedFunction otherFunc = (TabulatedFunction) obj;
+
+        if (this.size != otherFunc.getPointsCount()) {
+            return false;
+        }
+
+        // Если другой объект тоже DoubleArrayTabulatedFunction, сравниваем массивы напрямую
+        if (obj instanceof DoubleArrayTabulatedFunction) {
+            DoubleArrayTabulatedFunction other = (DoubleArrayTabulatedFunction) obj;
+
+            for (int i = 0; i < size; i++) {
+                if (Double.compare(xValues[i], other.xValues[i]) != 0 ||
+                        Double.compare(yValues[i], other.yValues[i]) != 0) {
+                    return false;
+                }
+            }
+        } else {
+            // Общий случай для любой TabulatedFunction
+            try {
+                for (int i = 0; i < size; i++) {
+                    if (Double.compare(xValues[i], otherFunc.getPointX(i)) != 0 ||
+                            Double.compare(yValues[i], otherFunc.getPointY(i)) != 0) {
+                        return false;
+                    }
+                }
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Возвращает хэш-код табулированной функции.
+     * Совпадает с хэш-кодом ArrayTabulatedFunction с теми же точками
+     * @return хэш-код, рассчитанный на основе количества точек и координат всех точек
+     */
+    @Override
+    public int hashCode() {
+        int result = size;
+
+        for (int i = 0; i < size; i++) {
+            // То же значение, что и FunctionPoint.hashCode() = Objects.hash(x, y)
+            int pointHash = 31 * (31 + Double.hashCode(xValues[i])) + Double.hashCode(yValues[i]);
+            result = 31 * result + pointHash;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object clone() {
+        return new DoubleArrayTabulatedFunction(xValues.clone(), yValues.clone(), size);
+    }
+
+    // Конструктор для клонирования: массивы используются без копирования и проверок
+    private DoubleArrayTabulatedFunction(double[] xValues, double[] yValues, int size) {
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.size = size;
+    }
+
+    // Вспомогательные методы
+    private static double[] zeroValues(int pointsCount) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be at least 2");
+        }
+        return new double[pointsCount];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+
+    private void checkOrdering() {
+        for (int i = 1; i < size; i++) {
+            if (xValues[i] <= xValues[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Points must be strictly increasing by x. " +
+                                "Point " + i + " has x=" + xValues[i] +
+                                " which is not greater than point " + (i - 1) +
+                                " with x=" + xValues[i - 1]
+                );
+            }
+        }
+    }
+
+    private boolean isValidXPosition(int index, double newX) {
+        if (index > 0 && newX <= xValues[index - 1] + EPSILON) {
+            return false;
+        }
+        if (index < size - 1 && newX >= xValues[index + 1] - EPSILON) {
+            return false;
+        }
+        return true;
+    }
+
+    private void resize(int newCapacity) {
+        double[] newX = new double[newCapacity];
+        double[] newY = new double[newCapacity];
+        System.arraycopy(xValues, 0, newX, 0, size);
+        System.arraycopy(yValues, 0, newY, 0, size);
+        xValues = newX;
+        yValues = newY;
+    }
+
+    // Доступ к точкам для PointSearch; создается при обращении, чтобы не храниться в сериализуемом объекте
+    private PointSearch.Points searchPoints() {
+        return new PointSearch.Points() {
+            @Override
+            public double x(int index) {
+                return xValues[index];
+            }
+
+            @Override
+            public double y(int index) {
+                return yValues[index];
+            }
+        };
+    }
+}
@@ -23,4 +23,31 @@ public interface Function {
      * @return значение функции в точке x
      */
     double getFunctionValue(double x);
+
+    /**
+     * Вычисляет значения функции сразу в массиве точек.
+     * Результат совпадает с поэлементным вызовом getFunctionValue; реализации переопределяют
+     * метод, чтобы считать весь массив в одном цикле без вызова интерфейса на каждую точку
+     * @param arguments точки, в которых вычисляется функция
+     * @param values массив для результатов (не должен совпадать с arguments)
+     * @param count количество вычисляемых значений
+     */
+    default void getFunctionValues(double[] arguments, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(arguments[i]);
+        }
+    }
+
+    /**
+     * Вычисляет значения функции в точках арифметической прогрессии startX + i * step
+     * @param startX первая точка
+     * @param step шаг прогрессии
+     * @param values массив для результатов
+     * @param count количество вычисляемых значений
+     */
+    default void getFunctionValues(double startX, double step, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(startX + i * step);
+        }
+    }
 }
@@ -0,0 +1,324 @@
+package functions;
+
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+import functions.meta.Composition;
+import functions.meta.Mult;
+import functions.meta.Power;
+import functions.meta.Scale;
+import functions.meta.Shift;
+import functions.meta.Sum;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Компилятор дерева функций из functions.basic и functions.meta в одну цепочку MethodHandle.
+ *
+ * Вместо обхода объектов Sum, Power, Composition и т.д. с виртуальным вызовом getFunctionValue
+ * на каждом уровне строится один дескриптор (double)double из комбинаторов MethodHandles.
+ * Значения и NaN совпадают с исходным деревом, при этом:
+ * - границы областей определения неизменяемых поддеревьев вычисляются один раз при компиляции;
+ * - проверка области определения узла опускается, если дочерние дескрипторы и так вернут NaN
+ *   вне нее (для Sum, Mult, Power, Composition);
+ * - проверка NaN опускается, если операция и так дает NaN (сложение, умножение, возведение
+ *   в ненулевую степень, функции, сохраняющие NaN).
+ *
+ * Табулированные и прочие неизвестные функции остаются листьями с обычным вызовом
+ * getFunctionValue и динамической проверкой области определения, так как они могут изменяться
+ */
+final class FunctionCompiler {
+
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+
+    private static final MethodHandle NAN =
+            MethodHandles.dropArguments(MethodHandles.constant(double.class, Double.NaN), 0, double.class);
+
+    private static final MethodHandle ADD;
+    private static final MethodHandle MULTIPLY;
+    private static final MethodHandle RAISE;
+    private static final MethodHandle LOG;
+    private static final MethodHandle INSIDE;
+    private static final MethodHandle INSIDE_DOMAIN;
+    private static final MethodHandle IS_NUMBER;
+    private static final MethodHandle EXP;
+    private static final MethodHandle SIN;
+    private static final MethodHandle COS;
+    private static final MethodHandle TAN;
+    private static final MethodHandle FUNCTION_VALUE;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+        try {
+            ADD = lookup.findStatic(FunctionCompiler.class, "add", binary);
+            MULTIPLY = lookup.findStatic(FunctionCompiler.class, "multiply", binary);
+            RAISE = lookup.findVirtual(Power.class, "raise", UNARY);
+            LOG = lookup.findStatic(FunctionCompiler.class, "log", binary);
+            INSIDE = lookup.findStatic(FunctionCompiler.class, "inside",
+                    MethodType.methodType(boolean.class, double.class, double.class, double.class));
+            INSIDE_DOMAIN = lookup.findStatic(FunctionCompiler.class, "insideDomain",
+                    MethodType.methodType(boolean.class, Function.class, double.class));
+            IS_NUMBER = lookup.findStatic(FunctionCompiler.class, "isNumber",
+                    MethodType.methodType(boolean.class, double.class));
+            EXP = lookup.findStatic(Math.class, "exp", UNARY);
+            SIN = lookup.findStatic(Math.class, "sin", UNARY);
+            COS = lookup.findStatic(Math.class, "cos", UNARY);
+            TAN = lookup.findStatic(Math.class, "tan", UNARY);
+            FUNCTION_VALUE = lookup.findVirtual(Function.class, "getFunctionValue", UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionCompiler() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса FunctionCompiler");
+    }
+
+    /**
+     * Компилирует дерево функций. Если корень дерева не является известной функцией,
+     * возвращает исходную функцию: компилировать в этом случае нечего
+     * @param function корень дерева
+     * @return функция с теми же значениями, что и исходная
+     */
+    static Function compile(Function function) {
+        if (function instanceof CompiledFunction || !isKnown(function)) {
+            return function;
+        }
+        return new CompiledFunction(function, compileNode(function).handle);
+    }
+
+    /**
+     * Результат компиляции поддерева
+     */
+    private static final class Node {
+        // Дескриптор (double)double; всегда возвращает NaN вне области определения поддерева
+        final MethodHandle handle;
+        // Область определения поддерева не может измениться (в нем нет изменяемых функций)
+        final boolean fixed;
+        // Для аргумента NaN поддерево всегда возвращает NaN
+        final boolean propagatesNaN;
+
+        Node(MethodHandle handle, boolean fixed, boolean propagatesNaN) {
+            this.handle = handle;
+            this.fixed = fixed;
+            this.propagatesNaN = propagatesNaN;
+        }
+    }
+
+    private static boolean isKnown(Function f) {
+        Class<?> type = f.getClass();
+        return type == Functions.Identity.class || type == Functions.Constant.class
+                || type == Exp.class || type == Log.class
+                || type == Sin.class || type == Cos.class || type == Tan.class
+                || type == Sum.class || type == Mult.class
+                || type == Shift.class || type == Scale.class
+                || type == Power.class || type == Composition.class;
+    }
+
+    // Точные проверки классов: подкласс мог переопределить getFunctionValue
+    private static Node compileNode(Function f) {
+        Class<?> type = f.getClass();
+
+        if (type == Functions.Identity.class) {
+            return new Node(MethodHandles.identity(double.class), true, true);
+        }
+        if (type == Functions.Constant.class) {
+            double value = ((Functions.Constant) f).getValue();
+            MethodHandle constant = MethodHandles.constant(double.class, value);
+            return new Node(MethodHandles.dropArguments(constant, 0, double.class), true, false);
+        }
+        if (type == Exp.class) {
+            return new Node(EXP, true, true);
+        }
+        if (type == Sin.class) {
+            return new Node(SIN, true, true);
+        }
+        if (type == Cos.class) {
+            return new Node(COS, true, true);
+        }
+        if (type == Tan.class) {
+            return new Node(TAN, true, true);
+        }
+        if (type == Log.class) {
+            double logBase = Math.log(((Log) f).getBase());
+            return new Node(MethodHandles.insertArguments(LOG, 1, logBase), true, true);
+        }
+
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            return compileBinary(ADD, compileNode(sum.getFirst()), compileNode(sum.getSecond()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            return compileBinary(MULTIPLY, compileNode(mult.getFirst()), compileNode(mult.getSecond()));
+        }
+
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            Node child = compileNode(shift.getFunction());
+            // yShift + f(x + xShift); сложение сохраняет NaN исходной функции
+            MethodHandle body = MethodHandles.filterArguments(child.handle, 0,
+                    MethodHandles.insertArguments(ADD, 1, shift.getXShift()));
+            body = MethodHandles.filterReturnValue(body,
+                    MethodHandles.insertArguments(ADD, 1, shift.getYShift()));
+            // Границы сдвига вычисляются с округлением, поэтому собственная проверка сохраняется
+            return new Node(guardDomain(f, child.fixed, body), child.fixed, child.propagatesNaN);
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            Node child = compileNode(scale.getFunction());
+            // yScale * f(xScale * x); умножение сохраняет NaN исходной функции
+            MethodHandle body = MethodHandles.filterArguments(child.handle, 0,
+                    MethodHandles.insertArguments(MULTIPLY, 1, scale.getXScale()));
+            body = MethodHandles.filterReturnValue(body,
+                    MethodHandles.insertArguments(MULTIPLY, 1, scale.getYScale()));
+            return new Node(guardDomain(f, child.fixed, body), child.fixed, child.propagatesNaN);
+        }
+
+        if (type == Power.class) {
+            Power power = (Power) f;
+            Node base = compileNode(power.getBaseFunction());
+            // Область определения совпадает с областью основания, которое само вернет NaN вне нее.
+            // Возведение в степень выполняет Power.raise; NaN он сохраняет для всех степеней,
+            // кроме нулевой, поэтому только для нее NaN проверяется явно
+            MethodHandle raise = RAISE.bindTo(power);
+            if (power.getPower() == 0) {
+                raise = MethodHandles.guardWithTest(IS_NUMBER, raise, NAN);
+            }
+            return new Node(MethodHandles.filterReturnValue(base.handle, raise), base.fixed, base.propagatesNaN);
+        }
+
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            Node inner = compileNode(composition.getInner());
+            Node outer = compileNode(composition.getOuter());
+            // Внешняя функция сама вернет NaN вне своей области определения;
+            // NaN внутренней функции проверяется, только если внешняя может его потерять
+            MethodHandle outerHandle = outer.propagatesNaN
+                    ? outer.handle
+                    : MethodHandles.guardWithTest(IS_NUMBER, outer.handle, NAN);
+            return new Node(MethodHandles.filterReturnValue(inner.handle, outerHandle),
+                    inner.fixed && outer.fixed, inner.propagatesNaN);
+        }
+
+        if (f instanceof CompiledFunction) {
+            return compileNode(((CompiledFunction) f).source);
+        }
+
+        // Табулированная или неизвестная функция: обычный вызов с проверкой текущих границ
+        return new Node(guardDomain(f, false, FUNCTION_VALUE.bindTo(f)), false, false);
+    }
+
+    // Область определения суммы и произведения - пересечение областей, вне которого
+    // одно из слагаемых уже равно NaN, поэтому отдельная проверка не нужна
+    private static Node compileBinary(MethodHandle operation, Node first, Node second) {
+        MethodHandle body = MethodHandles.filterArguments(operation, 0, first.handle, second.handle);
+        body = MethodHandles.permuteArguments(body, UNARY, 0, 0);
+        return new Node(body, first.fixed && second.fixed, first.propagatesNaN || second.propagatesNaN);
+    }
+
+    // Добавляет проверку области определения: по границам, вычисленным сейчас,
+    // или, если они могут измениться, по текущим границам функции
+    private static MethodHandle guardDomain(Function f, boolean fixed, MethodHandle body) {
+        MethodHandle test;
+        if (fixed) {
+            double left = f.getLeftDomainBorder();
+            double right = f.getRightDomainBorder();
+            if (left == Double.NEGATIVE_INFINITY && right == Double.POSITIVE_INFINITY) {
+                return body;
+            }
+            test = MethodHandles.insertArguments(INSIDE, 1, left, right);
+        } else {
+            test = INSIDE_DOMAIN.bindTo(f);
+        }
+        return MethodHandles.guardWithTest(test, body, NAN);
+    }
+
+    // === ОПЕРАЦИИ, ВЫЗЫВАЕМЫЕ ИЗ ДЕСКРИПТОРОВ ===
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    // Как Log.getFunctionValue, но с заранее вычисленным логарифмом основания
+    private static double log(double x, double logBase) {
+        if (x <= 0) {
+            return Double.NaN;
+        }
+        return Math.log(x) / logBase;
+    }
+
+    // Та же проверка, что и x < left || x > right в getFunctionValue
+    private static boolean inside(double x, double left, double right) {
+        return !(x < left || x > right);
+    }
+
+    private static boolean insideDomain(Function f, double x) {
+        return !(x < f.getLeftDomainBorder() || x > f.getRightDomainBorder());
+    }
+
+    private static boolean isNumber(double value) {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * Скомпилированная функция: значения вычисляются дескриптором,
+     * границы и пакетные вычисления берутся у исходного дерева
+     */
+    private static final class CompiledFunction implements Function {
+        private final Function source;
+        private final MethodHandle handle;
+
+        CompiledFunction(Function source, MethodHandle handle) {
+            this.source = source;
+            this.handle = handle;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return source.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return source.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            try {
+                return (double) handle.invokeExact(x);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // Операции в дескрипторе не объявляют проверяемых исключений
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // Пакетный путь исходного дерева уже обходит его один раз на весь массив
+        @Override
+        public void getFunctionValues(double[] arguments, double[] values, int count) {
+            source.getFunctionValues(arguments, values, count);
+        }
+
+        @Override
+        public void getFunctionValues(double startX, double step, double[] values, int count) {
+            source.getFunctionValues(startX, step, values, count);
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package functions;
+
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+import functions.meta.Composition;
+import functions.meta.Mult;
+import functions.meta.Power;
+import functions.meta.Scale;
+import functions.meta.Shift;
+import functions.meta.Sum;
+
+/**
+ * Алгебраическое упрощение деревьев функций.
+ *
+ * Дерево упрощается снизу вверх; к каждому узлу с уже упрощенными потомками применяются правила:
+ * - Shift(f, 0, 0), Scale(f, 1, 1), Power(f, 1), Composition(f, x), Composition(x, f) заменяются на f;
+ * - Shift(Shift(f)) и Scale(Scale(f)) объединяются в один узел;
+ * - Power(Power(f, p), q) с целыми p и q заменяется на Power(f, p * q);
+ * - Power(x, 0) заменяется на константу 1;
+ * - Sum(f, 0) и Mult(f, 1) заменяются на f, Sum(f, c) - на Shift(f, 0, c), Mult(f, c) - на Scale(f, 1, c);
+ * - узел, все аргументы которого константы, заменяется константой (свертка констант).
+ *
+ * Значения упрощенной функции совпадают с исходными с точностью до округления при объединении
+ * сдвигов и коэффициентов. Табулированные и неизвестные функции не изменяются и не сворачиваются,
+ * так как их значения могут измениться после упрощения
+ */
+final class FunctionSimplifier {
+
+    private FunctionSimplifier() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса FunctionSimplifier");
+    }
+
+    /**
+     * Упрощает дерево функций. Узлы, которые не изменились, переиспользуются
+     * @param f корень дерева
+     * @return упрощенная функция
+     */
+    static Function simplify(Function f) {
+        Class<?> type = f.getClass();
+
+        // Точные проверки классов: подкласс мог переопределить getFunctionValue
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            Function first = simplify(sum.getFirst());
+            Function second = simplify(sum.getSecond());
+            boolean same = first == sum.getFirst() && second == sum.getSecond();
+            return reduceSum(same ? sum : new Sum(first, second), first, second);
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            Function first = simplify(mult.getFirst());
+            Function second = simplify(mult.getSecond());
+            boolean same = first == mult.getFirst() && second == mult.getSecond();
+            return reduceMult(same ? mult : new Mult(first, second), first, second);
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            Function function = simplify(shift.getFunction());
+            return reduceShift(function, shift.getXShift(), shift.getYShift(),
+                    function == shift.getFunction() ? shift : null);
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            Function function = simplify(scale.getFunction());
+            return reduceScale(function, scale.getXScale(), scale.getYScale(),
+                    function == scale.getFunction() ? scale : null);
+        }
+        if (type == Power.class) {
+            Power power = (Power) f;
+            Function base = simplify(power.getBaseFunction());
+            return reducePower(base, power.getPower(), base == power.getBaseFunction() ? power : null);
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            Function outer = simplify(composition.getOuter());
+            Function inner = simplify(composition.getInner());
+            boolean same = outer == composition.getOuter() && inner == composition.getInner();
+            return reduceComposition(same ? composition : new Composition(outer, inner), outer, inner);
+        }
+        return f;
+    }
+
+    // === ПРАВИЛА ДЛЯ ОТДЕЛЬНЫХ УЗЛОВ ===
+    // Аргументы узлов уже упрощены; node - узел с этими аргументами
+
+    private static Function reduceSum(Sum node, Function first, Function second) {
+        if (isConstant(first) && isConstant(second)) {
+            return fold(node);
+        }
+        if (isConstant(second)) {
+            return addConstant(first, constantValue(second));
+        }
+        if (isConstant(first)) {
+            return addConstant(second, constantValue(first));
+        }
+        return node;
+    }
+
+    // f + c: ноль отбрасывается, иначе сумма заменяется сдвигом по Y
+    private static Function addConstant(Function f, double c) {
+        if (c == 0) {
+            return f;
+        }
+        return reduceShift(f, 0, c, null);
+    }
+
+    private static Function reduceMult(Mult node, Function first, Function second) {
+        if (isConstant(first) && isConstant(second)) {
+            return fold(node);
+        }
+        if (isConstant(second)) {
+            return multiplyByConstant(node, first, constantValue(second));
+        }
+        if (isConstant(first)) {
+            return multiplyByConstant(node, second, constantValue(first));
+        }
+        return node;
+    }
+
+    // f * c: единица отбрасывается, иначе произведение заменяется масштабированием по Y.
+    // Scale не допускает коэффициентов, близких к нулю, для них произведение остается
+    private static Function multiplyByConstant(Mult node, Function f, double c) {
+        if (c == 1) {
+            return f;
+        }
+        if (!isValidScale(c)) {
+            return node;
+        }
+        return reduceScale(f, 1, c, null);
+    }
+
+    private static Function reduceShift(Function f, double xShift, double yShift, Shift node) {
+        if (xShift == 0 && yShift == 0) {
+            return f;
+        }
+        if (isConstant(f)) {
+            return fold(node != null ? node : new Shift(f, xShift, yShift));
+        }
+        if (f.getClass() == Shift.class) {
+            // yShift + (y1 + g(x + xShift + x1))
+            Shift inner = (Shift) f;
+            return reduceShift(inner.getFunction(),
+                    inner.getXShift() + xShift, inner.getYShift() + yShift, null);
+        }
+        return node != null ? node : new Shift(f, xShift, yShift);
+    }
+
+    private static Function reduceScale(Function f, double xScale, double yScale, Scale node) {
+        if (xScale == 1 && yScale == 1) {
+            return f;
+        }
+        if (isConstant(f)) {
+            return fold(node != null ? node : new Scale(f, xScale, yScale));
+        }
+        if (f.getClass() == Scale.class) {
+            // yScale * (y1 * g(x1 * xScale * x))
+            Scale inner = (Scale) f;
+            double mergedX = inner.getXScale() * xScale;
+            double mergedY = inner.getYScale() * yScale;
+            if (isValidScale(mergedX) && isValidScale(mergedY)) {
+                return reduceScale(inner.getFunction(), mergedX, mergedY, null);
+            }
+        }
+        return node != null ? node : new Scale(f, xScale, yScale);
+    }
+
+    private static Function reducePower(Function base, double power, Power node) {
+        if (power == 1) {
+            return base;
+        }
+        if (isConstant(base)) {
+            return fold(node != null ? node : new Power(base, power));
+        }
+        // x^0 = 1 всюду, кроме x = NaN; для других оснований остается NaN вне их области определения
+        if (power == 0 && base == Functions.identity()) {
+            return new Functions.Constant(1.0);
+        }
+        if (base.getClass() == Power.class && isInteger(power)) {
+            // Для целых степеней (g^p)^q = g^(p * q) при любом знаке g
+            Power inner = (Power) base;
+            if (isInteger(inner.getPower())) {
+                return reducePower(inner.getBaseFunction(), inner.getPower() * power, null);
+            }
+        }
+        return node != null ? node : new Power(base, power);
+    }
+
+    private static Function reduceComposition(Composition node, Function outer, Function inner) {
+        if (inner == Functions.identity()) {
+            return outer;
+        }
+        if (outer == Functions.identity()) {
+            return inner;
+        }
+        // Внешняя функция от константы - константа, если внешняя функция не может измениться
+        if (isConstant(inner) && isImmutable(outer)) {
+            return fold(node);
+        }
+        return node;
+    }
+
+    // === ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ===
+
+    // Узел, все аргументы которого константы, определен всюду и везде равен одному значению
+    private static Function fold(Function node) {
+        return new Functions.Constant(node.getFunctionValue(0.0));
+    }
+
+    private static boolean isConstant(Function f) {
+        return f.getClass() == Functions.Constant.class;
+    }
+
+    private static double constantValue(Function f) {
+        return ((Functions.Constant) f).getValue();
+    }
+
+    // Дерево состоит только из известных неизменяемых функций
+    private static boolean isImmutable(Function f) {
+        Class<?> type = f.getClass();
+        if (type == Functions.Identity.class || type == Functions.Constant.class
+                || type == Exp.class || type == Log.class
+                || type == Sin.class || type == Cos.class || type == Tan.class) {
+            return true;
+        }
+        if (type == Sum.class) {
+            return isImmutable(((Sum) f).getFirst()) && isImmutable(((Sum) f).getSecond());
+        }
+        if (type == Mult.class) {
+            return isImmutable(((Mult) f).getFirst()) && isImmutable(((Mult) f).getSecond());
+        }
+        if (type == Shift.class) {
+            return isImmutable(((Shift) f).getFunction());
+        }
+        if (type == Scale.class) {
+            return isImmutable(((Scale) f).getFunction());
+        }
+        if (type == Power.class) {
+            return isImmutable(((Power) f).getBaseFunction());
+        }
+        if (type == Composition.class) {
+            return isImmutable(((Composition) f).getOuter()) && isImmutable(((Composition) f).getInner());
+        }
+        return false;
+    }
+
+    // Та же проверка, что и в конструкторе Scale
+    private static boolean isValidScale(double scale) {
+        return Math.abs(scale) >= 1e-10;
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value);
+    }
+}
@@ -2,6 +2,15 @@ package functions;
 
 import functions.meta.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * Утилитный класс для работы с функциями.
  * Содержит статические методы для создания мета-функций.
@@ -16,6 +25,51 @@ public class Functions {
         throw new AssertionError("Нельзя создавать объекты утилитного класса Functions");
     }
 
+    // Количество участков интегрирования, значения на которых вычисляются одним пакетным вызовом
+    private static final int INTEGRATION_BLOCK_SIZE = 1024;
+
+    // Количество участков, которое параллельное интегрирование считает одной задачей без деления
+    private static final int PARALLEL_INTEGRATION_THRESHOLD = 16384;
+
+    // Лимит вычислений функции для адаптивного интегрирования по умолчанию
+    private static final int DEFAULT_MAX_EVALUATIONS = 150_000;
+
+    // Метод Ромберга: наибольшее и наименьшее количество уровней деления шага,
+    // лимит вычислений по умолчанию (2^20 + 1 точек, как при шаге ~10^-6 на единичном отрезке)
+    private static final int ROMBERG_MAX_LEVELS = 30;
+    private static final int ROMBERG_MIN_LEVELS = 3;
+    private static final int ROMBERG_MAX_EVALUATIONS = (1 << 20) + 1;
+
+    // Квадратура Гаусса-Кронрода G7K15: количество точек, узлы Кронрода на [-1, 1]
+    // по убыванию (последний - центр), веса Кронрода и веса Гаусса для узлов 1, 3, 5 и центра
+    private static final int KRONROD_POINTS = 15;
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+            0.000000000000000000000000000000000
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+            0.209482141084727828012999174891714
+    };
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+            0.417959183673469387755102040816327
+    };
+
     /**
      * Возвращает функцию, полученную из исходной сдвигом вдоль осей.
      * @param f исходная функция
@@ -154,9 +208,130 @@ public class Functions {
         return Identity.INSTANCE;
     }
 
+    /**
+     * Компилирует дерево функций из functions.basic и functions.meta в одну цепочку MethodHandle.
+     * Результат вычисляет те же значения (включая NaN вне области определения), но без обхода
+     * объектов дерева и повторных проверок областей определения на каждом уровне.
+     * Табулированные функции внутри дерева вызываются как есть и могут изменяться после компиляции
+     * @param f функция для компиляции
+     * @return скомпилированная функция или f, если компилировать нечего
+     * @throws IllegalArgumentException если f равна null
+     */
+    public static Function compile(Function f) {
+        if (f == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        return FunctionCompiler.compile(f);
+    }
+
+    /**
+     * Упрощает дерево функций: убирает тождественные узлы (сдвиг на 0, масштаб 1, степень 1,
+     * композицию с x, сложение с 0, умножение на 1), объединяет вложенные сдвиги, масштабы
+     * и целые степени, заменяет сложение и умножение на константу сдвигом и масштабом
+     * и сворачивает константные поддеревья.
+     * Значения совпадают с исходными с точностью до округления
+     * @param f функция для упрощения
+     * @return упрощенная функция (f, если упрощать нечего)
+     * @throws IllegalArgumentException если f равна null
+     */
+    public static Function simplify(Function f) {
+        if (f == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        return FunctionSimplifier.simplify(f);
+    }
+
     public static double integrate(Function function, double leftLimit, double rightLimit, double step) {
+        return integrate(function, leftLimit, rightLimit, step, SummationMode.NAIVE);
+    }
+
+    /**
+     * Интегрирование методом трапеций с заданным режимом суммирования площадей.
+     * При очень маленьком шаге обычное суммирование накапливает ошибку округления порядка
+     * n * 1e-16 (n - количество участков); режим NEUMAIER убирает эту составляющую погрешности
+     * @param function функция для интегрирования
+     * @param leftLimit левая граница интегрирования
+     * @param rightLimit правая граница интегрирования
+     * @param step шаг интегрирования
+     * @param mode режим суммирования
+     * @return значение интеграла
+     * @throws IllegalArgumentException при некорректных параметрах или если функция не определена
+     * в одной из точек
+     * @throws CancellationException если поток прерван во время интегрирования
+     */
+    public static double integrate(Function function, double leftLimit, double rightLimit, double step,
+                                   SummationMode mode) {
+        checkIntegrationArguments(function, leftLimit, rightLimit, step);
+        if (mode == null) {
+            throw new IllegalArgumentException("Режим суммирования не может быть null");
+        }
+
+        // Точки участков и значения функции в них обрабатываются блоками:
+        // функция вычисляется одним пакетным вызовом на блок, а не двумя вызовами на участок.
+        // Последняя точка блока становится первой точкой следующего.
+        // Для коротких интервалов блок не больше количества участков, чтобы не выделять
+        // лишнюю память на каждый вызов; разбиение на блоки не влияет на результат
+        int blockSize = Math.max(1, (int) Math.min(INTEGRATION_BLOCK_SIZE,
+                Math.ceil((rightLimit - leftLimit) / step)));
+        double[] xValues = new double[blockSize + 1];
+        double[] fValues = new double[blockSize + 1];
+        double[] areas = new double[blockSize];
+
+        CompensatedSum integral = new CompensatedSum(mode);
+        xValues[0] = leftLimit;
+
+        // Проходим по всей области интегрирования с заданным шагом
+        while (xValues[0] < rightLimit) {
+            checkInterrupted();
+
+            // Определяем точки участков блока
+            int count = 1;
+            while (count <= blockSize && xValues[count - 1] < rightLimit) {
+                xValues[count] = Math.min(xValues[count - 1] + step, rightLimit);
+                count++;
+            }
+
+            // Вычисляем значения функции во всех точках блока
+            function.getFunctionValues(xValues, fValues, count);
+
+            // Площади трапеций считаются пакетно; суммируются они по порядку,
+            // чтобы результат не зависел от разбиения на блоки
+            ArrayMath.trapezoids(xValues, fValues, areas, count - 1);
+
+            for (int i = 0; i < count - 1; i++) {
+                double fCurrent = fValues[i];
+                double fNext = fValues[i + 1];
+
+                // Если функция не определена в какой-то точке, выбрасываем исключение
+                if (Double.isNaN(fCurrent) || Double.isNaN(fNext)) {
+                    throw new IllegalArgumentException(
+                            String.format("Функция не определена в точке: currentX=%f, fCurrent=%f, nextX=%f, fNext=%f",
+                                    xValues[i], fCurrent, xValues[i + 1], fNext)
+                    );
+                }
+
+                integral.add(areas[i]);
+            }
+
+            // Переходим к следующему блоку
+            xValues[0] = xValues[count - 1];
+        }
+
+        return integral.getSum();
+    }
+
+    // Интегрирование проверяет прерывание потока один раз на блок точек и прекращается;
+    // флаг прерывания не сбрасывается, чтобы его увидел вызывающий код
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Интегрирование прервано");
+        }
+    }
+
+    private static void checkIntegrationArguments(Function function, double leftLimit, double rightLimit,
+                                                  double step) {
         // Проверка входных параметров
-        if (step <= 0) {
+        if (!(step > 0)) {
             throw new IllegalArgumentException("Шаг интегрирования должен быть положительным: " + step);
         }
 
@@ -178,37 +353,196 @@ public class Functions {
                             function.getLeftDomainBorder(), function.getRightDomainBorder())
             );
         }
+    }
 
-        double integral = 0.0;
-        double currentX = leftLimit;
-        double nextX;
+    /**
+     * Параллельное интегрирование методом трапеций в общем пуле ForkJoinPool.commonPool().
+     * @see #integrateParallel(Function, double, double, double, ForkJoinPool, int)
+     */
+    public static double integrateParallel(Function function, double leftLimit, double rightLimit, double step) {
+        return integrateParallel(function, leftLimit, rightLimit, step,
+                ForkJoinPool.commonPool(), PARALLEL_INTEGRATION_THRESHOLD);
+    }
 
-        // Проходим по всей области интегрирования с заданным шагом
-        while (currentX < rightLimit) {
-            // Определяем следующую точку
-            nextX = Math.min(currentX + step, rightLimit);
+    /**
+     * Параллельное интегрирование методом трапеций в отдельном пуле с заданным числом потоков.
+     * Пул создается на время вызова и затем останавливается
+     * @param parallelism количество потоков
+     * @see #integrateParallel(Function, double, double, double, ForkJoinPool, int)
+     */
+    public static double integrateParallel(Function function, double leftLimit, double rightLimit, double step,
+                                           int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным: " + parallelism);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return integrateParallel(function, leftLimit, rightLimit, step, pool, PARALLEL_INTEGRATION_THRESHOLD);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Параллельное интегрирование методом трапеций.
+     *
+     * Интервал делится на участки с точками leftLimit + i * step (последняя точка - rightLimit),
+     * диапазон участков рекурсивно делится пополам, пока в нем больше threshold участков,
+     * и частичные суммы складываются в порядке дерева деления. Разбиение зависит только
+     * от количества участков и threshold, поэтому результат одинаков при любом числе потоков.
+     *
+     * От integrate результат отличается только округлением: там точки получаются накоплением
+     * шага, а суммы складываются подряд. Разность имеет порядок n * 1e-16 * ∫|f(x)|dx,
+     * где n - количество участков (для n = 10^6 - порядка 1e-10 относительной погрешности).
+     *
+     * Функция вычисляется одновременно из нескольких потоков, поэтому табулированные функции
+     * не должны изменяться во время интегрирования
+     * @param function функция для интегрирования
+     * @param leftLimit левая граница интегрирования
+     * @param rightLimit правая граница интегрирования
+     * @param step шаг интегрирования
+     * @param pool пул, в котором выполняется интегрирование
+     * @param threshold наибольшее количество участков, которое считается одной задачей без деления
+     * @return значение интеграла
+     * @throws IllegalArgumentException при некорректных параметрах или если функция не определена
+     * в одной из точек
+     * @throws CancellationException если поток пула прерван во время интегрирования
+     * (например, при shutdownNow)
+     */
+    public static double integrateParallel(Function function, double leftLimit, double rightLimit, double step,
+                                           ForkJoinPool pool, int threshold) {
+        return integrateParallel(function, leftLimit, rightLimit, step, pool, threshold, SummationMode.NAIVE);
+    }
+
+    /**
+     * Параллельное интегрирование методом трапеций с заданным режимом суммирования:
+     * в режиме NEUMAIER компенсированно суммируется каждая последовательная часть
+     * @param mode режим суммирования
+     * @see #integrateParallel(Function, double, double, double, ForkJoinPool, int)
+     */
+    public static double integrateParallel(Function function, double leftLimit, double rightLimit, double step,
+                                           ForkJoinPool pool, int threshold, SummationMode mode) {
+        checkIntegrationArguments(function, leftLimit, rightLimit, step);
+        if (mode == null) {
+            throw new IllegalArgumentException("Режим суммирования не может быть null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Пул потоков не может быть null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог деления должен быть положительным: " + threshold);
+        }
 
-            // Вычисляем значения функции на границах участка
-            double fCurrent = function.getFunctionValue(currentX);
-            double fNext = function.getFunctionValue(nextX);
+        // Количество участков: наименьшее n, при котором leftLimit + n * step >= rightLimit
+        long segments = Math.max(1, (long) Math.ceil((rightLimit - leftLimit) / step));
+        while (segments > 1 && leftLimit + (segments - 1) * step >= rightLimit) {
+            segments--;
+        }
+        while (leftLimit + segments * step < rightLimit) {
+            segments++;
+        }
 
-            // Если функция не определена в какой-то точке, выбрасываем исключение
-            if (Double.isNaN(fCurrent) || Double.isNaN(fNext)) {
-                throw new IllegalArgumentException(
-                        String.format("Функция не определена в точке: currentX=%f, fCurrent=%f, nextX=%f, fNext=%f",
-                                currentX, fCurrent, nextX, fNext)
-                );
+        TrapezoidSumTask task = new TrapezoidSumTask(function, leftLimit, rightLimit, step,
+                segments, threshold, mode, 0, segments);
+        try {
+            // Из потока того же пула задача выполняется в нем напрямую
+            if (ForkJoinTask.getPool() == pool) {
+                return task.invoke();
             }
+            return pool.invoke(task);
+        } catch (IllegalArgumentException e) {
+            // Исключение из другого потока пул перебрасывает копией, исходное исключение - ее причина
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Сумма площадей трапеций на участках с номерами [from, to)
+     */
+    private static class TrapezoidSumTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+        private final double leftLimit;
+        private final double rightLimit;
+        private final double step;
+        private final long segments;
+        private final int threshold;
+        private final SummationMode mode;
+        private final long from;
+        private final long to;
+
+        TrapezoidSumTask(Function function, double leftLimit, double rightLimit, double step,
+                         long segments, int threshold, SummationMode mode, long from, long to) {
+            this.function = function;
+            this.leftLimit = leftLimit;
+            this.rightLimit = rightLimit;
+            this.step = step;
+            this.segments = segments;
+            this.threshold = threshold;
+            this.mode = mode;
+            this.from = from;
+            this.to = to;
+        }
 
-            // Вычисляем площадь трапеции и добавляем к интегралу
-            double segmentLength = nextX - currentX;
-            integral += (fCurrent + fNext) * segmentLength / 2.0;
+        @Override
+        protected Double compute() {
+            if (to - from <= threshold) {
+                return sumSegments();
+            }
 
-            // Переходим к следующему участку
-            currentX = nextX;
+            long middle = (from + to) >>> 1;
+            TrapezoidSumTask left = new TrapezoidSumTask(function, leftLimit, rightLimit, step,
+                    segments, threshold, mode, from, middle);
+            TrapezoidSumTask right = new TrapezoidSumTask(function, leftLimit, rightLimit, step,
+                    segments, threshold, mode, middle, to);
+            left.fork();
+            double rightSum = right.compute();
+            // Левая часть прибавляется первой при любом порядке выполнения
+            return left.join() + rightSum;
         }
 
-        return integral;
+        // Последовательная сумма блоками, как в integrate
+        private double sumSegments() {
+            int blockSize = (int) Math.min(INTEGRATION_BLOCK_SIZE, to - from);
+            double[] xValues = new double[blockSize + 1];
+            double[] fValues = new double[blockSize + 1];
+            double[] areas = new double[blockSize];
+
+            CompensatedSum sum = new CompensatedSum(mode);
+            for (long start = from; start < to; start += blockSize) {
+                checkInterrupted();
+                int count = (int) Math.min(blockSize, to - start);
+                for (int i = 0; i <= count; i++) {
+                    long index = start + i;
+                    // Крайние точки берутся как есть: при бесконечном шаге 0 * step дает NaN
+                    if (index == 0) {
+                        xValues[i] = leftLimit;
+                    } else if (index == segments) {
+                        xValues[i] = rightLimit;
+                    } else {
+                        xValues[i] = leftLimit + index * step;
+                    }
+                }
+
+                function.getFunctionValues(xValues, fValues, count + 1);
+                ArrayMath.trapezoids(xValues, fValues, areas, count);
+
+                for (int i = 0; i < count; i++) {
+                    if (Double.isNaN(fValues[i]) || Double.isNaN(fValues[i + 1])) {
+                        throw new IllegalArgumentException(
+                                String.format("Функция не определена в точке: currentX=%f, fCurrent=%f, nextX=%f, fNext=%f",
+                                        xValues[i], fValues[i], xValues[i + 1], fValues[i + 1])
+                        );
+                    }
+                    sum.add(areas[i]);
+                }
+            }
+            return sum.getSum();
+        }
     }
 
     /**
@@ -256,10 +590,321 @@ public class Functions {
         return previousIntegral;
     }
 
+    /**
+     * Адаптивное интегрирование квадратурой Гаусса-Кронрода G7K15 с ограничением
+     * в DEFAULT_MAX_EVALUATIONS вычислений функции.
+     * @see #integrateAdaptive(Function, double, double, double, double, int)
+     */
+    public static IntegrationResult integrateAdaptive(Function function, double leftLimit, double rightLimit,
+                                                      double absoluteTolerance, double relativeTolerance) {
+        return integrateAdaptive(function, leftLimit, rightLimit, absoluteTolerance, relativeTolerance,
+                DEFAULT_MAX_EVALUATIONS);
+    }
+
+    /**
+     * Адаптивное интегрирование квадратурой Гаусса-Кронрода G7K15.
+     *
+     * На каждом отрезке интеграл вычисляется по 15 точкам Кронрода, а погрешность оценивается
+     * по разности с 7-точечной формулой Гаусса (по правилам QUADPACK). Отрезок с наибольшей
+     * оценкой погрешности делится пополам, пока суммарная оценка не станет меньше
+     * max(absoluteTolerance, relativeTolerance * |I|) или не будет исчерпан лимит вычислений.
+     * Деление происходит только там, где функция плохо приближается, поэтому для гладких
+     * функций достаточно нескольких десятков вычислений.
+     *
+     * Концы отрезков не вычисляются, поэтому допускаются интегрируемые особенности на границах
+     * (например, логарифм на [0, 1]). Если лимит исчерпан, возвращается лучшее найденное
+     * значение; достигнутая точность видна по оценке погрешности
+     * @param function функция для интегрирования
+     * @param leftLimit левая граница интегрирования
+     * @param rightLimit правая граница интегрирования
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность
+     * @param maxEvaluations наибольшее количество вычислений функции
+     * @return значение интеграла, оценка погрешности и количество вычислений
+     * @throws IllegalArgumentException при некорректных параметрах или если функция не определена
+     * в одной из точек
+     * @throws CancellationException если поток прерван во время интегрирования
+     */
+    public static IntegrationResult integrateAdaptive(Function function, double leftLimit, double rightLimit,
+                                                      double absoluteTolerance, double relativeTolerance,
+                                                      int maxEvaluations) {
+        checkIntegrationLimits(function, leftLimit, rightLimit);
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)
+                || (absoluteTolerance == 0 && relativeTolerance == 0)) {
+            throw new IllegalArgumentException(
+                    "Погрешности должны быть неотрицательными, и хотя бы одна из них - положительной");
+        }
+        if (maxEvaluations < KRONROD_POINTS) {
+            throw new IllegalArgumentException(
+                    "Лимит вычислений должен быть не меньше " + KRONROD_POINTS + ": " + maxEvaluations);
+        }
+
+        double[] xValues = new double[KRONROD_POINTS];
+        double[] fValues = new double[KRONROD_POINTS];
+
+        // Отрезки упорядочены по убыванию оценки погрешности
+        PriorityQueue<KronrodSegment> segments =
+                new PriorityQueue<>((s1, s2) -> Double.compare(s2.error, s1.error));
+        // Отрезки, которые уже нельзя разделить в пределах точности double
+        List<KronrodSegment> unsplittable = new ArrayList<>();
+
+        KronrodSegment whole = kronrod(function, leftLimit, rightLimit, xValues, fValues);
+        segments.add(whole);
+        int evaluations = KRONROD_POINTS;
+        double value = whole.value;
+        double error = whole.error;
+
+        while (error > Math.max(absoluteTolerance, relativeTolerance * Math.abs(value))
+                && evaluations + 2 * KRONROD_POINTS <= maxEvaluations
+                && !segments.isEmpty()) {
+            checkInterrupted();
+            KronrodSegment worst = segments.poll();
+            double middle = worst.left + (worst.right - worst.left) / 2;
+            if (!(worst.left < middle && middle < worst.right)) {
+                unsplittable.add(worst);
+                continue;
+            }
+
+            KronrodSegment left = kronrod(function, worst.left, middle, xValues, fValues);
+            KronrodSegment right = kronrod(function, middle, worst.right, xValues, fValues);
+            evaluations += 2 * KRONROD_POINTS;
+
+            value += left.value + right.value - worst.value;
+            error += left.error + right.error - worst.error;
+            segments.add(left);
+            segments.add(right);
+        }
+
+        // Итог пересчитывается заново, без ошибок округления от вычитаний в цикле
+        CompensatedSum totalValue = new CompensatedSum();
+        double totalError = 0.0;
+        for (KronrodSegment segment : segments) {
+            totalValue.add(segment.value);
+            totalError += segment.error;
+        }
+        for (KronrodSegment segment : unsplittable) {
+            totalValue.add(segment.value);
+            totalError += segment.error;
+        }
+        return new IntegrationResult(totalValue.getSum(), totalError, evaluations);
+    }
+
+    /**
+     * Интегрирование методом Ромберга с лимитом в ROMBERG_MAX_EVALUATIONS вычислений функции
+     * (столько же, сколько при шаге 10^-6 на единичном отрезке).
+     * @see #integrateRomberg(Function, double, double, double, int)
+     */
+    public static double integrateRomberg(Function function, double leftLimit, double rightLimit,
+                                          double targetError) {
+        return integrateRomberg(function, leftLimit, rightLimit, targetError, ROMBERG_MAX_EVALUATIONS);
+    }
+
+    /**
+     * Интегрирование методом Ромберга.
+     *
+     * Как и integrateWithPrecision, уменьшает шаг вдвое, пока два последовательных приближения
+     * не совпадут с точностью targetError, но:
+     * - сумма трапеций предыдущего уровня сохраняется, и на каждом уровне вычисляются только
+     *   новые средние точки, поэтому ни одна точка не вычисляется дважды;
+     * - к суммам трапеций применяется экстраполяция Ричардсона, которая для гладких функций
+     *   сходится намного быстрее самих сумм.
+     * Если лимит вычислений исчерпан раньше, возвращается последнее полученное приближение
+     * @param function функция для интегрирования
+     * @param leftLimit левая граница интегрирования
+     * @param rightLimit правая граница интегрирования
+     * @param targetError целевая точность (абсолютная погрешность)
+     * @param maxEvaluations наибольшее количество вычислений функции
+     * @return значение интеграла
+     * @throws IllegalArgumentException при некорректных параметрах или если функция не определена
+     * в одной из точек
+     * @throws CancellationException если поток прерван во время интегрирования
+     */
+    public static double integrateRomberg(Function function, double leftLimit, double rightLimit,
+                                          double targetError, int maxEvaluations) {
+        checkIntegrationLimits(function, leftLimit, rightLimit);
+        if (!(targetError > 0)) {
+            throw new IllegalArgumentException("Целевая погрешность должна быть положительной: " + targetError);
+        }
+        if (maxEvaluations < 2) {
+            throw new IllegalArgumentException("Лимит вычислений должен быть не меньше 2: " + maxEvaluations);
+        }
+
+        double length = rightLimit - leftLimit;
+        double fLeft = function.getFunctionValue(leftLimit);
+        double fRight = function.getFunctionValue(rightLimit);
+        if (Double.isNaN(fLeft) || Double.isNaN(fRight)) {
+            throw new IllegalArgumentException(
+                    String.format("Функция не определена в точке: leftLimit=%f, fLeft=%f, rightLimit=%f, fRight=%f",
+                            leftLimit, fLeft, rightLimit, fRight)
+            );
+        }
+
+        // previous[j] и current[j] - строки таблицы Ромберга: R(k, j) получается из суммы трапеций
+        // уровня k после j шагов экстраполяции
+        double[] previous = new double[ROMBERG_MAX_LEVELS + 1];
+        double[] current = new double[ROMBERG_MAX_LEVELS + 1];
+        previous[0] = length * (fLeft + fRight) / 2;
+        int evaluations = 2;
+        int completedLevel = 0;
+
+        double[] xValues = new double[INTEGRATION_BLOCK_SIZE];
+        double[] fValues = new double[INTEGRATION_BLOCK_SIZE];
+
+        for (int level = 1; level <= ROMBERG_MAX_LEVELS; level++) {
+            // Новые средние точки уровня: leftLimit + (2i + 1) * h, i < 2^(level - 1)
+            long newPoints = 1L << (level - 1);
+            if (evaluations + newPoints > maxEvaluations) {
+                break;
+            }
+            double h = length / (1L << level);
+
+            CompensatedSum midpointSum = new CompensatedSum();
+            for (long start = 0; start < newPoints; start += INTEGRATION_BLOCK_SIZE) {
+                checkInterrupted();
+                int count = (int) Math.min(INTEGRATION_BLOCK_SIZE, newPoints - start);
+                for (int i = 0; i < count; i++) {
+                    xValues[i] = leftLimit + (2 * (start + i) + 1) * h;
+                }
+                function.getFunctionValues(xValues, fValues, count);
+                for (int i = 0; i < count; i++) {
+                    if (Double.isNaN(fValues[i])) {
+                        throw new IllegalArgumentException(
+                                String.format("Функция не определена в точке: x=%f", xValues[i]));
+                    }
+                    midpointSum.add(fValues[i]);
+                }
+            }
+            evaluations += (int) newPoints;
+
+            // Сумма трапеций с шагом h через сумму с шагом 2h и значения в новых точках
+            current[0] = previous[0] / 2 + h * midpointSum.getSum();
+
+            // Экстраполяция Ричардсона
+            double factor = 1;
+            for (int j = 1; j <= level; j++) {
+                factor *= 4;
+                current[j] = current[j - 1] + (current[j - 1] - previous[j - 1]) / (factor - 1);
+            }
+
+            // Несколько первых уровней пропускаются, чтобы редкая сетка не дала ложной сходимости
+            if (level >= ROMBERG_MIN_LEVELS
+                    && Math.abs(current[level] - previous[level - 1]) < targetError) {
+                return current[level];
+            }
+
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+            completedLevel = level;
+        }
+
+        // Лимит исчерпан: последнее диагональное приближение
+        return previous[completedLevel];
+    }
+
+    /**
+     * Отрезок адаптивного интегрирования с вычисленным интегралом и оценкой погрешности
+     */
+    private static class KronrodSegment {
+        final double left;
+        final double right;
+        final double value;
+        final double error;
+
+        KronrodSegment(double left, double right, double value, double error) {
+            this.left = left;
+            this.right = right;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    // Проверка границ для методов, которые сами выбирают точки вычисления
+    private static void checkIntegrationLimits(Function function, double leftLimit, double rightLimit) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        if (!Double.isFinite(leftLimit) || !Double.isFinite(rightLimit)) {
+            throw new IllegalArgumentException("Границы интегрирования должны быть конечными");
+        }
+        if (leftLimit >= rightLimit) {
+            throw new IllegalArgumentException(
+                    String.format("Левая граница (%f) должна быть меньше правой (%f)", leftLimit, rightLimit)
+            );
+        }
+        if (leftLimit < function.getLeftDomainBorder() || rightLimit > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException(
+                    String.format("Интервал интегрирования [%f, %f] выходит за границы области определения [%f, %f]",
+                            leftLimit, rightLimit,
+                            function.getLeftDomainBorder(), function.getRightDomainBorder())
+            );
+        }
+    }
+
+    // Квадратура G7K15 на отрезке [left, right] (по подпрограмме qk15 из QUADPACK).
+    // Все 15 точек вычисляются одним пакетным вызовом
+    private static KronrodSegment kronrod(Function function, double left, double right,
+                                          double[] xValues, double[] fValues) {
+        double center = (left + right) / 2;
+        double halfLength = (right - left) / 2;
+
+        // Точки: центр, затем пары симметричных узлов Кронрода
+        xValues[0] = center;
+        for (int j = 0; j < 7; j++) {
+            double offset = halfLength * KRONROD_NODES[j];
+            xValues[2 * j + 1] = center - offset;
+            xValues[2 * j + 2] = center + offset;
+        }
+        function.getFunctionValues(xValues, fValues, KRONROD_POINTS);
+
+        for (int i = 0; i < KRONROD_POINTS; i++) {
+            if (Double.isNaN(fValues[i])) {
+                throw new IllegalArgumentException(
+                        String.format("Функция не определена в точке: x=%f", xValues[i]));
+            }
+        }
+
+        double fCenter = fValues[0];
+        double kronrodSum = KRONROD_WEIGHTS[7] * fCenter;
+        double gaussSum = GAUSS_WEIGHTS[3] * fCenter;
+        double absSum = KRONROD_WEIGHTS[7] * Math.abs(fCenter);
+        for (int j = 0; j < 7; j++) {
+            double f1 = fValues[2 * j + 1];
+            double f2 = fValues[2 * j + 2];
+            kronrodSum += KRONROD_WEIGHTS[j] * (f1 + f2);
+            absSum += KRONROD_WEIGHTS[j] * (Math.abs(f1) + Math.abs(f2));
+            // Узлы Гаусса - каждый второй узел Кронрода
+            if (j % 2 == 1) {
+                gaussSum += GAUSS_WEIGHTS[j / 2] * (f1 + f2);
+            }
+        }
+
+        // Среднее отклонение от среднего значения - масштаб для оценки погрешности
+        double mean = kronrodSum / 2;
+        double deviationSum = KRONROD_WEIGHTS[7] * Math.abs(fCenter - mean);
+        for (int j = 0; j < 7; j++) {
+            deviationSum += KRONROD_WEIGHTS[j]
+                    * (Math.abs(fValues[2 * j + 1] - mean) + Math.abs(fValues[2 * j + 2] - mean));
+        }
+
+        double value = kronrodSum * halfLength;
+        double resultAbs = absSum * Math.abs(halfLength);
+        double resultAsc = deviationSum * Math.abs(halfLength);
+        double error = Math.abs((kronrodSum - gaussSum) * halfLength);
+
+        if (resultAsc != 0 && error != 0) {
+            error = resultAsc * Math.min(1, Math.pow(200 * error / resultAsc, 1.5));
+        }
+        if (resultAbs > Double.MIN_NORMAL / (50 * Math.ulp(1.0))) {
+            error = Math.max(50 * Math.ulp(1.0) * resultAbs, error);
+        }
+        return new KronrodSegment(left, right, value, error);
+    }
+
     /**
      * Внутренний класс для тождественной функции (паттерн Singleton).
      */
-    private static class Identity implements Function {
+    static class Identity implements Function {
         // Singleton экземпляр
         public static final Identity INSTANCE = new Identity();
 
@@ -280,6 +925,18 @@ public class Functions {
             return x;
         }
 
+        @Override
+        public void getFunctionValues(double[] arguments, double[] values, int count) {
+            System.arraycopy(arguments, 0, values, 0, count);
+        }
+
+        @Override
+        public void getFunctionValues(double startX, double step, double[] values, int count) {
+            for (int i = 0; i < count; i++) {
+                values[i] = startX + i * step;
+            }
+        }
+
         @Override
         public String toString() {
             return "x";
@@ -289,13 +946,17 @@ public class Functions {
     /**
      * Внутренний класс для константной функции.
      */
-    private static class Constant implements Function {
+    static class Constant implements Function {
         private final double value;
 
         public Constant(double value) {
             this.value = value;
         }
 
+        public double getValue() {
+            return value;
+        }
+
         @Override
         public double getLeftDomainBorder() {
             return Double.NEGATIVE_INFINITY;
@@ -311,6 +972,16 @@ public class Functions {
             return value;
         }
 
+        @Override
+        public void getFunctionValues(double[] arguments, double[] values, int count) {
+            Arrays.fill(values, 0, count, value);
+        }
+
+        @Override
+        public void getFunctionValues(double startX, double step, double[] values, int count) {
+            Arrays.fill(values, 0, count, value);
+        }
+
         @Override
         public String toString() {
             return Double.toString(value);
@@ -343,13 +1014,10 @@ public class Functions {
         double[] values = new double[pointsCount];
         double step = (rightX - leftX) / (pointsCount - 1);
 
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = f.getFunctionValue(x);
-        }
+        f.getFunctionValues(leftX, step, values, pointsCount);
 
-        // Создаем и возвращаем табулированную функцию
-        return new ArrayTabulatedFunction(leftX, rightX, values);
+        // Создаем табулированную функцию через текущую фабрику (равномерная сетка по умолчанию)
+        return TabulatedFunctions.createTabulatedFunction(leftX, rightX, values);
     }
 
     /**
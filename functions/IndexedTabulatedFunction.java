@@ -0,0 +1,347 @@
+package functions;
+
+/**
+ * Табулированная функция с индексом интегралов по отрезкам таблицы.
+ *
+ * Декоратор над другой табулированной функцией: хранит копии координат точек и дерево отрезков
+ * над площадями трапеций между соседними точками. Интеграл по любому [a, b] находится за O(log n):
+ * сумма целых трапеций берется из дерева, а неполные трапеции у концов считаются интерполяцией.
+ * setPointY, setPointX и setPoint обновляют индекс за O(log n); addPoint и deletePoint
+ * сдвигают точки и перестраивают индекс за O(n), как и сами изменения в массиве точек.
+ *
+ * В отличие от разностей префиксных сумм, сумма по дереву не теряет точность на малых
+ * интервалах, а обновление пересчитывает площади заново и не накапливает погрешность.
+ *
+ * Все изменения должны выполняться через этот объект: изменения исходной функции в обход
+ * декоратора индекс не замечает
+ */
+public class IndexedTabulatedFunction implements TabulatedFunction {
+    private static final double EPSILON = 1e-10; // Точность для сравнения double
+    private static final int READ_BLOCK_SIZE = 4096;
+
+    private final TabulatedFunction function;
+
+    // Копии координат точек исходной функции
+    private double[] xValues;
+    private double[] yValues;
+    private int size;
+
+    // Дерево отрезков: листья tree[segments + i] - площади трапеций [x(i), x(i + 1)],
+    // внутренние узлы - суммы двух потомков
+    private double[] tree;
+    private int segments;
+
+    /**
+     * Создает индекс для табулированной функции
+     * @param function исходная функция; дальнейшие изменения выполняются через созданный объект
+     * @throws IllegalArgumentException если function равна null
+     */
+    public IndexedTabulatedFunction(TabulatedFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("function must not be null");
+        }
+        this.function = function;
+
+        size = function.getPointsCount();
+        xValues = new double[size];
+        yValues = new double[size];
+        // Один последовательный проход: для списка getPointX(i) обходит узлы от края
+        PointBlockReader reader = function.pointBlockReader();
+        double[] xBlock = new double[Math.min(READ_BLOCK_SIZE, size)];
+        double[] yBlock = new double[xBlock.length];
+        int read = 0;
+        while (read < size) {
+            int count = reader.read(xBlock, yBlock, Math.min(xBlock.length, size - read));
+            if (count == 0) {
+                throw new IllegalStateException("Function was modified while being indexed");
+            }
+            System.arraycopy(xBlock, 0, xValues, read, count);
+            System.arraycopy(yBlock, 0, yValues, read, count);
+            read += count;
+        }
+        rebuild();
+    }
+
+    /**
+     * Находит интеграл функции на отрезке [a, b] методом трапеций по точкам таблицы.
+     * Результат совпадает с TabulatedFunctions.integrate с точностью до порядка сложения площадей
+     * @param a нижний предел интегрирования
+     * @param b верхний предел интегрирования
+     * @return значение интеграла; при a > b пределы меняются местами
+     * @throws IllegalArgumentException если a или b выходят за область определения
+     */
+    public double integrate(double a, double b) {
+        if (a < xValues[0] || a > xValues[size - 1] || b < xValues[0] || b > xValues[size - 1]) {
+            throw new IllegalArgumentException(
+                    "Integration limits must lie within [" + xValues[0] + ", " + xValues[size - 1] + "]");
+        }
+        if (Math.abs(a - b) < EPSILON) {
+            return 0.0;
+        }
+        if (a > b) {
+            double temp = a;
+            a = b;
+            b = temp;
+        }
+
+        // first - первая точка правее a, last - последняя точка левее b
+        int first = upperBound(a);
+        int last = lowerBound(b) - 1;
+
+        if (first > last) {
+            // a и b лежат внутри одного отрезка
+            int i = first - 1;
+            double ya = interpolate(i, a);
+            double yb = interpolate(i, b);
+            return (b - a) * (ya + yb) / 2;
+        }
+
+        double ya = interpolate(first - 1, a);
+        double yb = interpolate(last, b);
+        double result = (xValues[first] - a) * (ya + yValues[first]) / 2;
+        result += sum(first, last);
+        result += (b - xValues[last]) * (yValues[last] + yb) / 2;
+        return result;
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ TabulatedFunction ===
+    @Override
+    public int getPointsCount() {
+        return function.getPointsCount();
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) throws FunctionPointIndexOutOfBoundsException {
+        return function.getPoint(index);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        function.setPoint(index, point);
+        refreshPoint(index);
+    }
+
+    @Override
+    public double getPointX(int index) throws FunctionPointIndexOutOfBoundsException {
+        return function.getPointX(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        function.setPointX(index, x);
+        refreshPoint(index);
+    }
+
+    @Override
+    public double getPointY(int index) throws FunctionPointIndexOutOfBoundsException {
+        return function.getPointY(index);
+    }
+
+    @Override
+    public void setPointY(int index, double y) throws FunctionPointIndexOutOfBoundsException {
+        function.setPointY(index, y);
+        refreshPoint(index);
+    }
+
+    @Override
+    public void deletePoint(int index) throws FunctionPointIndexOutOfBoundsException, IllegalStateException {
+        function.deletePoint(index);
+
+        System.arraycopy(xValues, index + 1, xValues, index, size - index - 1);
+        System.arraycopy(yValues, index + 1, yValues, index, size - index - 1);
+        size--;
+        rebuild();
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        function.addPoint(point);
+
+        // Исходная функция вставила точку с сохранением порядка координат
+        int index = lowerBound(point.getX());
+        if (size >= xValues.length) {
+            int capacity = xValues.length * 3 / 2 + 1;
+            double[] newX = new double[capacity];
+            double[] newY = new double[capacity];
+            System.arraycopy(xValues, 0, newX, 0, size);
+            System.arraycopy(yValues, 0, newY, 0, size);
+            xValues = newX;
+            yValues = newY;
+        }
+        System.arraycopy(xValues, index, xValues, index + 1, size - index);
+        System.arraycopy(yValues, index, yValues, index + 1, size - index);
+        xValues[index] = function.getPointX(index);
+        yValues[index] = function.getPointY(index);
+        size++;
+        rebuild();
+    }
+
+    @Override
+    public void printFunction() {
+        function.printFunction();
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ Function ===
+    @Override
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return function.getFunctionValue(x);
+    }
+
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        function.getFunctionValues(arguments, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        function.getFunctionValues(startX, step, values, count);
+    }
+
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return function.cursor();
+    }
+
+    @Override
+    public PointBlockReader pointBlockReader() {
+        return function.pointBlockReader();
+    }
+
+    // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
+    @Override
+    public String toString() {
+        return function.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return function.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return function.hashCode();
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        return new IndexedTabulatedFunction((TabulatedFunction) function.clone(), this);
+    }
+
+    // Конструктор для клонирования: индекс копируется без перестроения
+    private IndexedTabulatedFunction(TabulatedFunction function, IndexedTabulatedFunction source) {
+        this.function = function;
+        this.xValues = source.xValues.clone();
+        this.yValues = source.yValues.clone();
+        this.size = source.size;
+        this.tree = source.tree.clone();
+        this.segments = source.segments;
+    }
+
+    // Вспомогательные методы
+
+    // Перечитывает точку из исходной функции и пересчитывает две соседние с ней трапеции
+    private void refreshPoint(int index) {
+        xValues[index] = function.getPointX(index);
+        yValues[index] = function.getPointY(index);
+        if (index > 0) {
+            update(index - 1);
+        }
+        if (index < segments) {
+            update(index);
+        }
+    }
+
+    private double area(int segment) {
+        double x1 = xValues[segment];
+        double x2 = xValues[segment + 1];
+        return (x2 - x1) * (yValues[segment] + yValues[segment + 1]) / 2;
+    }
+
+    private void rebuild() {
+        segments = size - 1;
+        if (tree == null || tree.length < 2 * segments) {
+            tree = new double[2 * xValues.length];
+        }
+        for (int i = 0; i < segments; i++) {
+            tree[segments + i] = area(i);
+        }
+        for (int node = segments - 1; node > 0; node--) {
+            tree[node] = tree[2 * node] + tree[2 * node + 1];
+        }
+    }
+
+    private void update(int segment) {
+        int node = segments + segment;
+        tree[node] = area(segment);
+        while (node > 1) {
+            node >>= 1;
+            tree[node] = tree[2 * node] + tree[2 * node + 1];
+        }
+    }
+
+    // Сумма площадей трапеций с номерами [from, to)
+    private double sum(int from, int to) {
+        double result = 0.0;
+        for (int l = from + segments, r = to + segments; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) != 0) {
+                result += tree[l++];
+            }
+            if ((r & 1) != 0) {
+                result += tree[--r];
+            }
+        }
+        return result;
+    }
+
+    private double interpolate(int segment, double x) {
+        double x0 = xValues[segment];
+        double x1 = xValues[segment + 1];
+        double y0 = yValues[segment];
+        double y1 = yValues[segment + 1];
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+    // Номер первой точки с координатой >= x
+    private int lowerBound(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xValues[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Номер первой точки с координатой > x
+    private int upperBound(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xValues[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,54 @@
+package functions;
+
+/**
+ * Результат численного интегрирования: значение интеграла, оценка его абсолютной
+ * погрешности и количество вычислений функции, которое потребовалось
+ */
+public final class IntegrationResult {
+    private final double value;
+    private final double errorEstimate;
+    private final int evaluations;
+
+    /**
+     * Создает результат интегрирования
+     * @param value значение интеграла
+     * @param errorEstimate оценка абсолютной погрешности
+     * @param evaluations количество вычислений функции
+     */
+    public IntegrationResult(double value, double errorEstimate, int evaluations) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * Возвращает значение интеграла
+     * @return значение интеграла
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Возвращает оценку абсолютной погрешности
+     * @return оценка погрешности
+     */
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    /**
+     * Возвращает количество вычислений функции
+     * @return количество вычислений
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return "IntegrationResult{value=" + value +
+                ", errorEstimate=" + errorEstimate +
+                ", evaluations=" + evaluations + "}";
+    }
+}
@@ -1,6 +1,7 @@
 package functions;
 
 import java.io.Serializable;
+import java.util.ConcurrentModificationException;
 
 public class LinkedListTabulatedFunction implements TabulatedFunction, Serializable {
     private static final long serialVersionUID = 3L;
@@ -22,6 +23,34 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     private Node tail;
     private int size;
 
+    // Массив узлов по индексам для двоичного поиска в getFunctionValue.
+    // Строится лениво и сбрасывается при добавлении и удалении точек. volatile: getFunctionValue
+    // может вызываться из нескольких потоков, и массив должен публиковаться заполненным
+    private transient volatile Node[] nodeIndex;
+
+    // Счетчик структурных изменений (добавление и удаление узлов) для курсоров
+    private transient int modCount;
+
+    /**
+     * Фабрика, создающая LinkedListTabulatedFunction
+     */
+    public static class LinkedListTabulatedFunctionFactory implements TabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new LinkedListTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new LinkedListTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new LinkedListTabulatedFunction(points);
+        }
+    }
+
     // Конструкторы
     public LinkedListTabulatedFunction(double leftX, double rightX, int pointsCount) {
         if (pointsCount < 2) {
@@ -128,6 +157,105 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         return current;
     }
 
+    private Node[] getNodeIndex() {
+        Node[] index = nodeIndex;
+        if (index == null) {
+            index = new Node[size];
+            Node current = head;
+            for (int i = 0; i < size; i++) {
+                index[i] = current;
+                current = current.next;
+            }
+            nodeIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Двоичный поиск первой точки, для которой x - x[i] < EPSILON.
+     * Все точки левее найденной отстоят от x не меньше чем на EPSILON, поэтому результат
+     * совпадает с последовательным просмотром списка слева направо
+     * @return индекс найденной точки или size, если такой точки нет (например, x равен NaN)
+     */
+    private int locatePoint(Node[] index, double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x - index[mid].point.getX() < EPSILON) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Курсор, который идет по списку от последнего найденного узла.
+     * При последовательном обходе аргументов каждый вызов сдвигается на O(1) узлов
+     * вместо прохода от головы списка
+     */
+    private class Cursor implements TabulatedFunctionCursor {
+        private Node hint;
+        private int expectedModCount;
+
+        @Override
+        public double getLeftDomainBorder() {
+            return LinkedListTabulatedFunction.this.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return LinkedListTabulatedFunction.this.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+                return Double.NaN;
+            }
+
+            // После добавления или удаления узлов запомненный узел мог выпасть из списка
+            if (hint == null || expectedModCount != modCount) {
+                hint = head;
+                expectedModCount = modCount;
+            }
+
+            // Ищем первый узел, для которого x - x[i] < EPSILON, как и locatePoint
+            Node node = hint;
+            if (x - node.point.getX() < EPSILON) {
+                while (node.prev != null && x - node.prev.point.getX() < EPSILON) {
+                    node = node.prev;
+                }
+            } else {
+                do {
+                    node = node.next;
+                } while (node != null && !(x - node.point.getX() < EPSILON));
+                if (node == null) {
+                    return Double.NaN;
+                }
+            }
+
+            hint = node;
+            return valueAt(node, x);
+        }
+
+        @Override
+        public void reset() {
+            hint = null;
+        }
+    }
+
+    // Значение в x, если node - первый узел, для которого x - x[node] < EPSILON
+    private double valueAt(Node node, double x) {
+        // Точка ближе EPSILON - возвращаем её значение, иначе x лежит строго внутри отрезка [node.prev, node]
+        if (Math.abs(x - node.point.getX()) < EPSILON) {
+            return node.point.getY();
+        }
+        return linearInterpolation(node.prev.point, node.point, x);
+    }
+
     private int findInsertPosition(double x) {
         Node current = head;
         int index = 0;
@@ -243,6 +371,8 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         }
 
         size--;
+        nodeIndex = null;
+        modCount++;
     }
 
     @Override
@@ -277,6 +407,8 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         }
 
         size++;
+        nodeIndex = null;
+        modCount++;
     }
 
     @Override
@@ -316,22 +448,48 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
             return Double.NaN;
         }
 
-        Node current = head;
-        while (current.next != null) {
-            double x1 = current.point.getX();
-            double x2 = current.next.point.getX();
-
-            if (Math.abs(x - x1) < EPSILON) return current.point.getY();
-            if (Math.abs(x - x2) < EPSILON) return current.next.point.getY();
+        Node[] index = getNodeIndex();
+        int i = locatePoint(index, x);
+        if (i == size) {
+            return Double.NaN;
+        }
 
-            if (x > x1 && x < x2) {
-                return linearInterpolation(current.point, current.next.point, x);
-            }
+        return valueAt(index[i], x);
+    }
 
-            current = current.next;
-        }
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new Cursor();
+    }
 
-        return Double.NaN;
+    /**
+     * Читатель, идущий по узлам списка: каждая точка читается за O(1)
+     * вместо прохода от головы списка в getPointX/getPointY
+     * @throws ConcurrentModificationException при чтении, если после создания читателя
+     * точки добавлялись или удалялись
+     */
+    @Override
+    public PointBlockReader pointBlockReader() {
+        return new PointBlockReader() {
+            private Node current = head;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public int read(double[] xValues, double[] yValues, int count) {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException(
+                            "Function was structurally modified during reading");
+                }
+                int read = 0;
+                while (read < count && current != null) {
+                    xValues[read] = current.point.getX();
+                    yValues[read] = current.point.getY();
+                    current = current.next;
+                    read++;
+                }
+                return read;
+            }
+        };
     }
 
     // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
@@ -0,0 +1,308 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Табулированная функция только для чтения, вычисляемая прямо по файлу, отображенному в память.
+ *
+ * Формат файла (все числа little-endian):
+ * - заголовок HEADER_SIZE = 16 байт: MAGIC (int), VERSION (int), количество точек n (long);
+ * - столбец координат x: n значений double начиная со смещения HEADER_SIZE;
+ * - столбец значений y: n значений double сразу после столбца x.
+ *
+ * Файл не загружается в кучу: открытие читает только заголовок, а страницы с нужными точками
+ * подгружает операционная система при обращении. Поиск отрезка - двоичный, O(log n) обращений.
+ * MappedByteBuffer адресует не более 2 ГБ, поэтому файл отображается частями по CHUNK_SIZE байт;
+ * размер части кратен 8, и значения double не пересекают границу частей.
+ *
+ * При открытии проверяется только порядок крайних точек: полная проверка потребовала бы чтения
+ * всего файла. Файлы, записанные TabulatedFunctions.writeMappedTabulatedFunction, упорядочены.
+ * Семантика вычисления совпадает с DoubleArrayTabulatedFunction
+ */
+public class MappedTabulatedFunction implements TabulatedFunction {
+    public static final int MAGIC = 0x54414246; // "TABF"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final ByteBuffer[] chunks;
+    private final int size;
+
+    // Доступ к точкам для PointSearch
+    private final PointSearch.Points searchPoints = new PointSearch.Points() {
+        @Override
+        public double x(int index) {
+            return xAt(index);
+        }
+
+        @Override
+        public double y(int index) {
+            return yAt(index);
+        }
+    };
+
+    /**
+     * Отображает файл в память
+     * @param file файл в формате MappedTabulatedFunction
+     * @throws IOException если файл не удается прочитать или его формат неверен
+     */
+    public MappedTabulatedFunction(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("File is too short for a tabulated function header: " + fileSize + " bytes");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Unexpected end of file in header");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a mapped tabulated function file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported mapped tabulated function version: " + version);
+            }
+            long pointsCount = header.getLong();
+            if (pointsCount < 2 || pointsCount > Integer.MAX_VALUE) {
+                throw new IOException("Invalid points count: " + pointsCount);
+            }
+            if (fileSize != HEADER_SIZE + 16 * pointsCount) {
+                throw new IOException("File size " + fileSize + " does not match points count " + pointsCount);
+            }
+
+            // Отображение остается действительным после закрытия канала
+            int chunkCount = (int) ((fileSize + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+            chunks = new ByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(CHUNK_SIZE, fileSize - start));
+                chunks[i] = chunk.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            size = (int) pointsCount;
+        }
+
+        if (!(xAt(0) < xAt(size - 1))) {
+            throw new IOException("Points must be strictly increasing by x");
+        }
+    }
+
+    // Конструктор для клонирования: отображение неизменяемо и используется совместно
+    private MappedTabulatedFunction(ByteBuffer[] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ TabulatedFunction ===
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return new FunctionPoint(xAt(index), yAt(index));
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public double getPointX(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return xAt(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public double getPointY(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return yAt(index);
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void printFunction() {
+        System.out.println("Табулированная функция (файл в памяти):");
+        System.out.println("-----------------------");
+
+        for (int i = 0; i < size; i++) {
+            System.out.printf("Точка %d: (%.4f, %.4f)%n", i, xAt(i), yAt(i));
+        }
+
+        System.out.println("-----------------------");
+        System.out.printf("Область определения: [%.4f, %.4f]%n",
+                getLeftDomainBorder(), getRightDomainBorder());
+        System.out.printf("Количество точек: %d%n", size);
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ Function ===
+    @Override
+    public double getLeftDomainBorder() {
+        return xAt(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xAt(size - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+            return Double.NaN;
+        }
+
+        int index = PointSearch.locate(searchPoints, x, 0, size);
+        if (index == size) {
+            return Double.NaN;
+        }
+        return PointSearch.valueAt(searchPoints, index, x);
+    }
+
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new PointSearch.Cursor(this, searchPoints);
+    }
+
+    // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
+
+    /**
+     * Возвращает текстовое описание табулированной функции
+     * @return строковое представление функции в формате {(x1; y1), (x2; y2), ...}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < size; i++) {
+            sb.append("(");
+            sb.append(xAt(i));
+            sb.append("; ");
+            sb.append(yAt(i));
+            sb.append(")");
+
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Сравнивает текущую табулированную функцию с другим объектом
+     * @param obj объект для сравнения
+     * @return true, если объекты равны (оба являются TabulatedFunction с одинаковыми точками)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof TabulatedFunction)) {
+            return false;
+        }
+
+        TabulatedFunction otherFunc = (TabulatedFunction) obj;
+
+        if (this.size != otherFunc.getPointsCount()) {
+            return false;
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Double.compare(xAt(i), otherFunc.getPointX(i)) != 0 ||
+                        Double.compare(yAt(i), otherFunc.getPointY(i)) != 0) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Возвращает хэш-код табулированной функции.
+     * Совпадает с хэш-кодом ArrayTabulatedFunction с теми же точками
+     * @return хэш-код, рассчитанный на основе количества точек и координат всех точек
+     */
+    @Override
+    public int hashCode() {
+        int result = size;
+
+        for (int i = 0; i < size; i++) {
+            // То же значение, что и FunctionPoint.hashCode() = Objects.hash(x, y)
+            int pointHash = 31 * (31 + Double.hashCode(xAt(i))) + Double.hashCode(yAt(i));
+            result = 31 * result + pointHash;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object clone() {
+        return new MappedTabulatedFunction(chunks, size);
+    }
+
+    // Вспомогательные методы
+
+    // Абсолютное чтение не меняет состояние буфера, поэтому части можно читать из разных потоков
+    private double doubleAt(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getDouble((int) (offset & CHUNK_MASK));
+    }
+
+    private double xAt(int index) {
+        return doubleAt(HEADER_SIZE + 8L * index);
+    }
+
+    private double yAt(int index) {
+        return doubleAt(HEADER_SIZE + 8L * size + 8L * index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+}
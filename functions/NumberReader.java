@@ -0,0 +1,319 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Потоковое чтение десятичных чисел, разделенных пробелами, табуляциями и переводами строк.
+ *
+ * Символы читаются блоками в собственный буфер, число разбирается прямо в буфере без создания строк.
+ * Перевод в double точный, результат совпадает с Double.parseDouble:
+ * - до 15 значащих цифр и порядок до 22 - одно точное умножение или деление (быстрый путь Клингера);
+ * - до 19 значащих цифр - алгоритм Айзеля-Лемира по 128-битным приближениям степеней 10;
+ * - остальное (больше 19 цифр, NaN, Infinity, редкие неоднозначные случаи) - Double.parseDouble.
+ *
+ * Поток читается с опережением, поэтому после чтения его нельзя продолжать читать в обход объекта
+ */
+final class NumberReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    // Больше цифр не помещается в long без знака
+    private static final int MAX_DIGITS = 19;
+
+    // Степени 10, точно представимые в double
+    private static final double[] EXACT_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Диапазон порядков таблицы степеней 10
+    private static final int MIN_EXPONENT = -348;
+    private static final int MAX_EXPONENT = 347;
+
+    // 128-битные мантиссы 10^e со старшим единичным битом: старшие и младшие 64 бита.
+    // Для e >= 0 мантисса усечена, для e < 0 округлена вверх
+    private static final long[] POWERS_HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+    private static final long[] POWERS_LOW = new long[POWERS_HIGH.length];
+
+    static {
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int e = MIN_EXPONENT; e <= MAX_EXPONENT; e++) {
+            BigInteger mantissa;
+            if (e >= 0) {
+                mantissa = BigInteger.TEN.pow(e);
+                int shift = mantissa.bitLength() - 128;
+                mantissa = shift > 0 ? mantissa.shiftRight(shift) : mantissa.shiftLeft(-shift);
+            } else {
+                BigInteger divisor = BigInteger.TEN.pow(-e);
+                mantissa = BigInteger.ONE.shiftLeft(divisor.bitLength() + 127).divide(divisor).add(BigInteger.ONE);
+            }
+            POWERS_HIGH[e - MIN_EXPONENT] = mantissa.shiftRight(64).longValue();
+            POWERS_LOW[e - MIN_EXPONENT] = mantissa.and(mask).longValue();
+        }
+    }
+
+    private final Reader in;
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private double value;
+
+    NumberReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Читает следующее слово потока и разбирает его как число
+     * @return true, если прочитано число (доступно через value()); false в конце потока
+     * или если слово не является числом
+     * @throws IOException если произошла ошибка чтения
+     */
+    boolean nextNumber() throws IOException {
+        // Пропускаем разделители
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            if (!isSeparator(buffer[position])) {
+                break;
+            }
+            position++;
+        }
+
+        // Ищем конец слова; при подкачке начало слова сдвигается в начало буфера
+        int end = position + 1;
+        while (true) {
+            if (end == limit) {
+                int length = end - position;
+                boolean filled = fill();
+                end = position + length;
+                if (!filled) {
+                    break;
+                }
+                continue;
+            }
+            if (isSeparator(buffer[end])) {
+                break;
+            }
+            end++;
+        }
+
+        boolean parsed = parse(position, end);
+        position = end;
+        return parsed;
+    }
+
+    /**
+     * @return последнее прочитанное число
+     */
+    double value() {
+        return value;
+    }
+
+    // Вспомогательные методы
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    // Сдвигает непрочитанную часть в начало буфера и дочитывает поток; false в конце потока
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            // Слово не помещается в буфер
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        int read;
+        do {
+            read = in.read(buffer, limit, buffer.length - limit);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    // Разбирает слово buffer[start, end): [+-]цифры[.цифры][(e|E)[+-]цифры]
+    private boolean parse(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (buffer[i] == '-' || buffer[i] == '+') {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        long significand = 0;   // Значащие цифры как число без знака
+        int digits = 0;         // Количество значащих цифр без ведущих нулей
+        int exponent = 0;       // Десятичный порядок значащих цифр
+        boolean hasDigits = false;
+        boolean truncated = false;
+
+        for (; i < end && isDigit(buffer[i]); i++) {
+            hasDigits = true;
+            if (digits < MAX_DIGITS) {
+                significand = significand * 10 + (buffer[i] - '0');
+                if (significand != 0) {
+                    digits++;
+                }
+            } else {
+                truncated = true;
+                exponent++;
+            }
+        }
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && isDigit(buffer[i]); i++) {
+                hasDigits = true;
+                if (digits < MAX_DIGITS) {
+                    significand = significand * 10 + (buffer[i] - '0');
+                    if (significand != 0) {
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+        if (hasDigits && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            if (i == end || !isDigit(buffer[i])) {
+                return parseSlow(start, end);
+            }
+            int exponentValue = 0;
+            for (; i < end && isDigit(buffer[i]); i++) {
+                // Порядок за пределами диапазона double дает 0 или бесконечность, дальше не считаем
+                if (exponentValue < 100_000) {
+                    exponentValue = exponentValue * 10 + (buffer[i] - '0');
+                }
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (!hasDigits || i != end || truncated) {
+            return parseSlow(start, end);
+        }
+        double result = toDouble(significand, exponent, negative);
+        if (Double.isNaN(result)) {
+            return parseSlow(start, end);
+        }
+        value = result;
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Общий путь для всего, что не разобрано быстро
+    private boolean parseSlow(int start, int end) {
+        try {
+            value = Double.parseDouble(new String(buffer, start, end - start));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Точно переводит significand * 10^exponent в double
+     * @param significand значащие цифры как число без знака
+     * @param exponent десятичный порядок
+     * @param negative знак числа
+     * @return ближайший double или NaN, если быстрые способы не дают однозначного ответа
+     */
+    static double toDouble(long significand, int exponent, boolean negative) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        // Быстрый путь: мантисса и степень 10 представимы точно, результат округляется один раз
+        if (significand > 0 && significand <= (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double result = significand;
+            result = exponent < 0 ? result / EXACT_POWERS[-exponent] : result * EXACT_POWERS[exponent];
+            return negative ? -result : result;
+        }
+
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+            return Double.NaN;
+        }
+
+        // Алгоритм Айзеля-Лемира
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long mantissa = significand << leadingZeros;
+        long binaryExponent = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        int index = exponent - MIN_EXPONENT;
+        long high = unsignedMultiplyHigh(mantissa, POWERS_HIGH[index]);
+        long low = mantissa * POWERS_HIGH[index];
+
+        // Младшие биты приближения могут повлиять на округление - уточняем вторыми 64 битами степени
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + mantissa, mantissa) < 0) {
+            long secondHigh = unsignedMultiplyHigh(mantissa, POWERS_LOW[index]);
+            long secondLow = mantissa * POWERS_LOW[index];
+            long mergedHigh = high;
+            long mergedLow = low + secondHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0
+                    && Long.compareUnsigned(secondLow + mantissa, mantissa) < 0) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        // Оставляем 54 бита
+        long upperBit = high >>> 63;
+        long result = high >>> (upperBit + 9);
+        binaryExponent -= 1 ^ upperBit;
+
+        // Число посередине между двумя double: направление округления неизвестно
+        if (low == 0 && (high & 0x1FF) == 0 && (result & 3) == 1) {
+            return Double.NaN;
+        }
+
+        // Округляем до 53 бит
+        result += result & 1;
+        result >>>= 1;
+        if ((result >>> 53) > 0) {
+            result >>>= 1;
+            binaryExponent++;
+        }
+
+        // Денормализованные числа и переполнение оставляем общему пути
+        if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+            return Double.NaN;
+        }
+
+        long bits = binaryExponent << 52 | result & 0x000FFFFFFFFFFFFFL;
+        if (negative) {
+            bits |= 0x8000000000000000L;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    // Старшие 64 бита произведения чисел без знака
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+}
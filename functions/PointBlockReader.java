@@ -0,0 +1,20 @@
+package functions;
+
+/**
+ * Последовательное чтение точек табулированной функции блоками.
+ * Реализации с последовательным хранением (например, связный список) проходят точки
+ * по порядку, не выполняя поиск по индексу для каждой точки.
+ *
+ * Читатель не потокобезопасен; функция не должна изменяться, пока идет чтение
+ */
+public interface PointBlockReader {
+
+    /**
+     * Читает следующие точки в начало массивов
+     * @param xValues массив для координат x
+     * @param yValues массив для значений y
+     * @param count наибольшее количество точек для чтения
+     * @return количество прочитанных точек; 0, если точки закончились
+     */
+    int read(double[] xValues, double[] yValues, int count);
+}
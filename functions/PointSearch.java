@@ -0,0 +1,149 @@
+package functions;
+
+/**
+ * Поиск отрезка и вычисление значения, общие для табулированных функций с доступом к точкам по номеру.
+ *
+ * Ищется первая точка, для которой x - x[i] < EPSILON. Все точки левее найденной отстоят от x
+ * не меньше чем на EPSILON, поэтому результат совпадает с последовательным просмотром отрезков слева направо
+ */
+final class PointSearch {
+    static final double EPSILON = 1e-10; // Точность для сравнения double
+
+    /**
+     * Доступ к координатам точек таблицы по номеру; x возрастают
+     */
+    interface Points {
+        double x(int index);
+
+        double y(int index);
+    }
+
+    private PointSearch() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса PointSearch");
+    }
+
+    /**
+     * Двоичный поиск первой точки из [low, high), для которой x - x[i] < EPSILON
+     * @return индекс найденной точки или high, если такой точки нет (например, x равен NaN)
+     */
+    static int locate(Points points, double x, int low, int high) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x - points.x(mid) < EPSILON) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Поиск той же точки из [0, count), что и locate(points, x, 0, count), начиная с подсказки hint:
+     * экспоненциальный шаг от подсказки в нужную сторону, затем двоичный поиск.
+     * Если искомая точка отстоит от подсказки на d позиций, поиск занимает O(log d)
+     * и затрагивает только точки рядом с подсказкой
+     * @param hint номер точки из [0, count), с которой начинается поиск
+     * @return индекс найденной точки или count, если такой точки нет
+     */
+    static int locateFrom(Points points, double x, int hint, int count) {
+        int low;
+        int high;
+        if (x - points.x(hint) < EPSILON) {
+            // Искомая точка не правее подсказки
+            high = hint;
+            int distance = 1;
+            int probe = hint - 1;
+            while (probe >= 0 && x - points.x(probe) < EPSILON) {
+                high = probe;
+                distance <<= 1;
+                probe = hint - distance;
+            }
+            low = Math.max(probe + 1, 0);
+        } else {
+            // Искомая точка правее подсказки
+            low = hint + 1;
+            int distance = 1;
+            int probe = hint + 1;
+            while (probe < count && !(x - points.x(probe) < EPSILON)) {
+                low = probe + 1;
+                distance <<= 1;
+                // Для таблиц около 2^31 точек сумма может не поместиться в int
+                probe = (int) Math.min((long) hint + distance, count);
+            }
+            high = Math.min(probe, count);
+        }
+        return locate(points, x, low, high);
+    }
+
+    /**
+     * Значение в x, если index - первая точка, для которой x - x[index] < EPSILON
+     */
+    static double valueAt(Points points, int index, double x) {
+        // Точка ближе EPSILON - возвращаем её значение, иначе x лежит строго внутри отрезка [index - 1, index]
+        double x2 = points.x(index);
+        if (Math.abs(x - x2) < EPSILON) {
+            return points.y(index);
+        }
+        double x1 = points.x(index - 1);
+        double y1 = points.y(index - 1);
+        double k = (points.y(index) - y1) / (x2 - x1);
+        return y1 + k * (x - x1);
+    }
+
+    /**
+     * Курсор, продолжающий поиск отрезка с последней найденной точки
+     */
+    static class Cursor implements TabulatedFunctionCursor {
+        private final TabulatedFunction function;
+        private final Points points;
+        private int hint;
+
+        Cursor(TabulatedFunction function, Points points) {
+            this.function = function;
+            this.points = points;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return function.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return function.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            int count = available(x);
+            if (count == 0) {
+                return Double.NaN;
+            }
+
+            int index = locateFrom(points, x, Math.min(hint, count - 1), count);
+            if (index == count) {
+                return Double.NaN;
+            }
+            hint = index;
+            return valueAt(points, index, x);
+        }
+
+        @Override
+        public void reset() {
+            hint = 0;
+        }
+
+        /**
+         * Количество первых точек таблицы, среди которых ищется отрезок для x
+         * @return 0, если значение в x не определено
+         */
+        int available(double x) {
+            int count = function.getPointsCount();
+            if (count == 0 || x < function.getLeftDomainBorder() || x > function.getRightDomainBorder()) {
+                return 0;
+            }
+            return count;
+        }
+    }
+}
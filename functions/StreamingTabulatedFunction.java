@@ -0,0 +1,543 @@
+package functions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Табулированная функция только для чтения, точки которой загружаются из потока в фоновом потоке.
+ *
+ * Количество точек известно сразу (оно читается из заголовка до создания объекта), а сами точки
+ * публикуются блоками по мере чтения. Запросы внутри уже загруженной части области определения
+ * отвечаются сразу; для остальных поведение задает политика:
+ * - BLOCK - запрос ждет, пока загрузятся нужные точки или загрузка завершится;
+ * - NAN - запрос сразу возвращает NaN (координаты незагруженных точек тоже NaN).
+ * После полной загрузки семантика совпадает с DoubleArrayTabulatedFunction.
+ *
+ * Точки хранятся частями по CHUNK_SIZE: память выделяется по мере загрузки, а загруженные точки
+ * при росте таблицы не копируются. Загрузчик записывает точки и затем увеличивает volatile-счетчик
+ * загруженных точек, поэтому читатели видят все точки с номерами меньше прочитанного счетчика.
+ *
+ * Если загрузка прервалась (ошибка чтения, конец потока, неупорядоченные точки), загруженная часть
+ * остается доступной; при политике BLOCK запросы за её пределами выбрасывают IllegalStateException,
+ * при политике NAN возвращают NaN. Причину сообщает awaitCompletion.
+ * Если ожидающий поток прерван, запрос возвращает NaN и восстанавливает флаг прерывания
+ */
+public class StreamingTabulatedFunction implements TabulatedFunction {
+    private static final double EPSILON = 1e-10; // Точность для сравнения double
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Точек в одном блоке публикации
+    private static final int PUBLISH_BLOCK_SIZE = 4096;
+
+    /**
+     * Поведение запросов к еще не загруженной части функции
+     */
+    public enum Policy {
+        /** Ждать загрузки нужных точек */
+        BLOCK,
+        /** Сразу возвращать NaN */
+        NAN
+    }
+
+    /**
+     * Источник точек для загрузчика
+     */
+    interface PointSource {
+        /**
+         * Читает следующие точки в xValues[offset, offset + count) и yValues[offset, offset + count)
+         * @return количество прочитанных точек, от 1 до count
+         * @throws IOException если точки не удается прочитать
+         */
+        int read(double[] xValues, double[] yValues, int offset, int count) throws IOException;
+    }
+
+    private final Loader loader;
+    private final Policy policy;
+    private final int size;
+
+    // Доступ к точкам для PointSearch
+    private final PointSearch.Points searchPoints = new PointSearch.Points() {
+        @Override
+        public double x(int index) {
+            return xAt(index);
+        }
+
+        @Override
+        public double y(int index) {
+            return yAt(index);
+        }
+    };
+
+    private StreamingTabulatedFunction(Loader loader, Policy policy) {
+        this.loader = loader;
+        this.policy = policy;
+        this.size = loader.size;
+    }
+
+    /**
+     * Создает функцию и запускает загрузку точек в фоновом потоке
+     * @param pointsCount количество точек из заголовка (не менее 2)
+     * @param source источник точек
+     * @param policy политика запросов к незагруженной части
+     * @return загружаемая функция
+     */
+    static StreamingTabulatedFunction load(int pointsCount, PointSource source, Policy policy) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Points count must be at least 2, got: " + pointsCount);
+        }
+        if (source == null || policy == null) {
+            throw new IllegalArgumentException("Source and policy must not be null");
+        }
+        Loader loader = new Loader(pointsCount, source);
+        Thread thread = new Thread(loader, "tabulated-function-loader");
+        thread.setDaemon(true);
+        thread.start();
+        return new StreamingTabulatedFunction(loader, policy);
+    }
+
+    /**
+     * @return политика запросов к незагруженной части
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Возвращает функцию с теми же загружаемыми точками и другой политикой
+     * @param policy политика запросов к незагруженной части
+     * @return функция, использующая ту же загрузку
+     */
+    public StreamingTabulatedFunction withPolicy(Policy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy must not be null");
+        }
+        return policy == this.policy ? this : new StreamingTabulatedFunction(loader, policy);
+    }
+
+    /**
+     * @return количество уже загруженных точек
+     */
+    public int getLoadedPointsCount() {
+        return loader.loaded;
+    }
+
+    /**
+     * @return true, если загрузка завершена, успешно или с ошибкой
+     */
+    public boolean isComplete() {
+        return loader.finished;
+    }
+
+    /**
+     * Ждет завершения загрузки
+     * @throws IOException если загрузка завершилась ошибкой
+     * @throws InterruptedException если ожидание прервано
+     */
+    public void awaitCompletion() throws IOException, InterruptedException {
+        loader.lock.lockInterruptibly();
+        try {
+            while (!loader.finished) {
+                loader.changed.await();
+            }
+        } finally {
+            loader.lock.unlock();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Ждет завершения загрузки не дольше timeout
+     * @return true, если загрузка завершилась успешно; false, если время истекло
+     * @throws IOException если загрузка завершилась ошибкой
+     * @throws InterruptedException если ожидание прервано
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        loader.lock.lockInterruptibly();
+        try {
+            while (!loader.finished) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = loader.changed.awaitNanos(nanos);
+            }
+        } finally {
+            loader.lock.unlock();
+        }
+        checkFailure();
+        return true;
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ TabulatedFunction ===
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        if (!awaitPoint(index)) {
+            return new FunctionPoint(Double.NaN, Double.NaN);
+        }
+        return new FunctionPoint(xAt(index), yAt(index));
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Streaming tabulated function is read-only");
+    }
+
+    @Override
+    public double getPointX(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return awaitPoint(index) ? xAt(index) : Double.NaN;
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Streaming tabulated function is read-only");
+    }
+
+    @Override
+    public double getPointY(int index) throws FunctionPointIndexOutOfBoundsException {
+        checkIndex(index);
+        return awaitPoint(index) ? yAt(index) : Double.NaN;
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Streaming tabulated function is read-only");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Streaming tabulated function is read-only");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Streaming tabulated function is read-only");
+    }
+
+    @Override
+    public void printFunction() {
+        System.out.println("Табулированная функция (загружаемая из потока):");
+        System.out.println("-----------------------");
+
+        for (int i = 0; i < size; i++) {
+            System.out.printf("Точка %d: (%.4f, %.4f)%n", i, getPointX(i), getPointY(i));
+        }
+
+        System.out.println("-----------------------");
+        System.out.printf("Область определения: [%.4f, %.4f]%n",
+                getLeftDomainBorder(), getRightDomainBorder());
+        System.out.printf("Количество точек: %d (загружено %d)%n", size, loader.loaded);
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ Function ===
+    @Override
+    public double getLeftDomainBorder() {
+        return getPointX(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return getPointX(size - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        int loaded = awaitCoverage(x);
+        if (loaded == 0 || x < xAt(0)) {
+            return Double.NaN;
+        }
+
+        int index = PointSearch.locate(searchPoints, x, 0, loaded);
+        if (index == loaded) {
+            // x правее всех точек, а загрузка уже не продолжится
+            return Double.NaN;
+        }
+        return PointSearch.valueAt(searchPoints, index, x);
+    }
+
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new Cursor();
+    }
+
+    // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
+
+    /**
+     * Возвращает текстовое описание табулированной функции
+     * @return строковое представление функции в формате {(x1; y1), (x2; y2), ...}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < size; i++) {
+            sb.append("(");
+            sb.append(getPointX(i));
+            sb.append("; ");
+            sb.append(getPointY(i));
+            sb.append(")");
+
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Сравнивает текущую табулированную функцию с другим объектом
+     * @param obj объект для сравнения
+     * @return true, если объекты равны (оба являются TabulatedFunction с одинаковыми точками)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof TabulatedFunction)) {
+            return false;
+        }
+
+        TabulatedFunction otherFunc = (TabulatedFunction) obj;
+
+        if (this.size != otherFunc.getPointsCount()) {
+            return false;
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Double.compare(getPointX(i), otherFunc.getPointX(i)) != 0 ||
+                        Double.compare(getPointY(i), otherFunc.getPointY(i)) != 0) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Возвращает хэш-код табулированной функции.
+     * Совпадает с хэш-кодом ArrayTabulatedFunction с теми же точками
+     * @return хэш-код, рассчитанный на основе количества точек и координат всех точек
+     */
+    @Override
+    public int hashCode() {
+        int result = size;
+
+        for (int i = 0; i < size; i++) {
+            // То же значение, что и FunctionPoint.hashCode() = Objects.hash(x, y)
+            int pointHash = 31 * (31 + Double.hashCode(getPointX(i))) + Double.hashCode(getPointY(i));
+            result = 31 * result + pointHash;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object clone() {
+        // Точки неизменяемы, загрузка используется совместно
+        return new StreamingTabulatedFunction(loader, policy);
+    }
+
+    // Вспомогательные методы
+
+    private double xAt(int index) {
+        return loader.xChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    private double yAt(int index) {
+        return loader.yChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable failure = loader.failure;
+        if (failure instanceof IOException) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+        if (failure != null) {
+            throw new IOException("Loading failed: " + failure, failure);
+        }
+    }
+
+    // Ждет загрузки точки по политике; false, если точка недоступна
+    private boolean awaitPoint(int index) {
+        if (index < loader.loaded) {
+            return true;
+        }
+        if (policy == Policy.NAN) {
+            return false;
+        }
+        loader.lock.lock();
+        try {
+            while (index >= loader.loaded && !loader.finished) {
+                loader.changed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            loader.lock.unlock();
+        }
+        if (index >= loader.loaded) {
+            throw new IllegalStateException("Point " + index + " was not loaded", loader.failure);
+        }
+        return true;
+    }
+
+    /**
+     * Ждет по политике, пока загруженные точки не определят значение в x,
+     * то есть пока x не окажется левее последней загруженной точки или загрузка не завершится
+     * @return количество загруженных точек, по которым вычисляется значение;
+     * 0, если значение недоступно
+     */
+    private int awaitCoverage(double x) {
+        int loaded = loader.loaded;
+        if (loaded == size || isCovered(x, loaded)) {
+            return loaded;
+        }
+        if (policy == Policy.NAN || Double.isNaN(x)) {
+            return 0;
+        }
+        loader.lock.lock();
+        try {
+            while (!loader.finished && !isCovered(x, loader.loaded)) {
+                loader.changed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            loader.lock.unlock();
+        }
+        loaded = loader.loaded;
+        if (loaded < size && !isCovered(x, loaded)) {
+            throw new IllegalStateException("Tabulated function was not loaded up to x=" + x, loader.failure);
+        }
+        return loaded;
+    }
+
+    // Первая точка, для которой x - x[i] < EPSILON, уже загружена
+    private boolean isCovered(double x, int loaded) {
+        return loaded > 0 && x - xAt(loaded - 1) < EPSILON;
+    }
+
+    /**
+     * Курсор, ищущий отрезок только среди точек, загруженных к моменту вычисления
+     */
+    private class Cursor extends PointSearch.Cursor {
+        Cursor() {
+            super(StreamingTabulatedFunction.this, searchPoints);
+        }
+
+        @Override
+        int available(double x) {
+            int loaded = awaitCoverage(x);
+            if (loaded == 0 || x < xAt(0)) {
+                return 0;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Загрузчик точек: общий для функции и её клонов
+     */
+    private static final class Loader implements Runnable {
+        private final int size;
+        private final PointSource source;
+
+        // Части таблицы; часть создается загрузчиком до публикации её первых точек
+        private final double[][] xChunks;
+        private final double[][] yChunks;
+
+        private volatile int loaded;
+        private volatile boolean finished;
+        private volatile Throwable failure;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+
+        Loader(int size, PointSource source) {
+            this.size = size;
+            this.source = source;
+            int chunkCount = (int) (((long) size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+            xChunks = new double[chunkCount][];
+            yChunks = new double[chunkCount][];
+        }
+
+        @Override
+        public void run() {
+            try {
+                int count = 0;
+                double lastX = Double.NEGATIVE_INFINITY;
+                while (count < size) {
+                    int chunk = count >>> CHUNK_SHIFT;
+                    int offset = count & CHUNK_MASK;
+                    if (offset == 0) {
+                        int length = Math.min(CHUNK_SIZE, size - count);
+                        xChunks[chunk] = new double[length];
+                        yChunks[chunk] = new double[length];
+                    }
+                    double[] xValues = xChunks[chunk];
+                    double[] yValues = yChunks[chunk];
+
+                    int read = source.read(xValues, yValues,
+                            offset, Math.min(PUBLISH_BLOCK_SIZE, xValues.length - offset));
+                    for (int i = offset; i < offset + read; i++) {
+                        int index = count + i - offset;
+                        if (index > 0 && !(xValues[i] > lastX)) {
+                            throw new IOException(
+                                    "Points must be strictly increasing by x. " +
+                                            "Point " + index + " has x=" + xValues[i] +
+                                            " which is not greater than point " + (index - 1) +
+                                            " with x=" + lastX);
+                        }
+                        lastX = xValues[i];
+                    }
+                    count += read;
+                    publish(count, false);
+                }
+                publish(count, true);
+            } catch (Throwable e) {
+                failure = e;
+                publish(loaded, true);
+            }
+        }
+
+        private void publish(int count, boolean done) {
+            loaded = count;
+            if (done) {
+                finished = true;
+            }
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package functions;
+
+/**
+ * Способ накопления суммы при интегрировании
+ */
+public enum SummationMode {
+
+    /**
+     * Обычное последовательное сложение. Ошибка округления растет пропорционально
+     * количеству слагаемых
+     */
+    NAIVE,
+
+    /**
+     * Компенсированное суммирование Ноймайера (улучшенный алгоритм Кэхэна).
+     * Ошибка округления не зависит от количества слагаемых, ценой нескольких
+     * дополнительных операций на слагаемое
+     */
+    NEUMAIER
+}
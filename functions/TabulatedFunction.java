@@ -31,8 +31,82 @@ public interface TabulatedFunction extends Function, Cloneable {
     // Метод для создания копии объекта
     Object clone() throws CloneNotSupportedException;
 
+    /**
+     * Пакетное вычисление через курсор: при упорядоченных аргументах поиск каждого
+     * следующего отрезка начинается с предыдущего
+     */
+    @Override
+    default void getFunctionValues(double[] arguments, double[] values, int count) {
+        TabulatedFunctionCursor cursor = cursor();
+        for (int i = 0; i < count; i++) {
+            values[i] = cursor.getFunctionValue(arguments[i]);
+        }
+    }
+
+    @Override
+    default void getFunctionValues(double startX, double step, double[] values, int count) {
+        TabulatedFunctionCursor cursor = cursor();
+        for (int i = 0; i < count; i++) {
+            values[i] = cursor.getFunctionValue(startX + i * step);
+        }
+    }
+
+    /**
+     * Создает курсор для последовательного вычисления значений функции.
+     * Реализация по умолчанию просто вызывает getFunctionValue; реализации с поиском
+     * отрезка переопределяют метод и продолжают поиск с последнего найденного отрезка
+     * @return новый курсор, связанный с этой функцией
+     */
+    default TabulatedFunctionCursor cursor() {
+        TabulatedFunction function = this;
+        return new TabulatedFunctionCursor() {
+            @Override
+            public double getLeftDomainBorder() {
+                return function.getLeftDomainBorder();
+            }
+
+            @Override
+            public double getRightDomainBorder() {
+                return function.getRightDomainBorder();
+            }
+
+            @Override
+            public double getFunctionValue(double x) {
+                return function.getFunctionValue(x);
+            }
+
+            @Override
+            public void reset() {
+                // Состояния нет
+            }
+        };
+    }
+
     // Методы из интерфейса Function остаются (наследуются):
     // double getLeftDomainBorder();
     // double getRightDomainBorder();
     // double getFunctionValue(double x);
+
+    /**
+     * Создает читателя, выдающего точки по порядку блоками.
+     * Реализация по умолчанию читает точки через getPointX и getPointY; реализации,
+     * у которых доступ по индексу не O(1), переопределяют метод
+     * @return новый читатель, начинающий с первой точки
+     */
+    default PointBlockReader pointBlockReader() {
+        return new PointBlockReader() {
+            private int position = 0;
+
+            @Override
+            public int read(double[] xValues, double[] yValues, int count) {
+                int read = Math.max(0, Math.min(count, getPointsCount() - position));
+                for (int i = 0; i < read; i++) {
+                    xValues[i] = getPointX(position + i);
+                    yValues[i] = getPointY(position + i);
+                }
+                position += read;
+                return read;
+            }
+        };
+    }
 }
\ No newline at end of file
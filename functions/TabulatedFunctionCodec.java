@@ -0,0 +1,603 @@
+package functions;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Сжатый двоичный формат табулированных функций.
+ *
+ * Формат (числа заголовка в big-endian, как в DataOutputStream):
+ * - MAGIC (int), VERSION (int), флаги (int), количество точек n (int), точек в блоке (int);
+ * - для равномерной сетки (флаг UNIFORM): leftX и rightX (double), x(i) = leftX + i * step,
+ *   step = (rightX - leftX) / (n - 1) - так же, как в конструкторах (leftX, rightX, ...);
+ * - индекс блоков: для каждого блока смещение от начала данных (long) и x его первой точки (double);
+ * - размер данных (long) и сами блоки.
+ *
+ * Каждый блок декодируется независимо и начинается с границы байта:
+ * - x и y первой точки без сжатия (для равномерной сетки только y);
+ * - x остальных точек - разности вторых порядков битовых представлений, упорядоченных как сами
+ *   числа: для почти равномерной сетки это 1 бит на точку;
+ * - y остальных точек - XOR с предыдущим значением по схеме Gorilla: 1 бит для повторяющегося
+ *   значения, иначе только значащие биты XOR.
+ * По индексу блоков из канала с произвольным доступом читаются только блоки нужного отрезка
+ */
+final class TabulatedFunctionCodec {
+    static final int MAGIC = 0x5441425A; // "TABZ"
+    static final int VERSION = 1;
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private static final int FLAG_UNIFORM = 1;
+    private static final int MAX_BLOCK_SIZE = 1 << 20;
+
+    // Предельный размер точки в блоке: 5 + 64 бита на x и 14 + 64 бита на y
+    private static final int MAX_POINT_BYTES = 19;
+
+    private TabulatedFunctionCodec() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса TabulatedFunctionCodec");
+    }
+
+    /**
+     * Записывает функцию в сжатом формате
+     * @param function табулированная функция
+     * @param out выходной поток; не закрывается
+     * @param blockSize количество точек в блоке
+     * @throws IOException если произошла ошибка ввода-вывода
+     */
+    static void write(TabulatedFunction function, OutputStream out, int blockSize) throws IOException {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Количество точек в блоке должно быть от 1 до " + MAX_BLOCK_SIZE
+                    + ", получено: " + blockSize);
+        }
+
+        int pointsCount = function.getPointsCount();
+        double leftX = function.getPointX(0);
+        double rightX = function.getPointX(pointsCount - 1);
+        double step = (rightX - leftX) / (pointsCount - 1);
+        boolean uniform = isUniform(function, leftX, step);
+
+        // Блоки кодируются в память: смещения нужны в заголовке до данных
+        int blockCount = (pointsCount + blockSize - 1) / blockSize;
+        long[] offsets = new long[blockCount];
+        double[] firstX = new double[blockCount];
+        BitWriter data = new BitWriter();
+
+        double[] xValues = new double[Math.min(blockSize, pointsCount)];
+        double[] yValues = new double[xValues.length];
+        PointBlockReader reader = function.pointBlockReader();
+        for (int block = 0; block < blockCount; block++) {
+            int count = Math.min(blockSize, pointsCount - block * blockSize);
+            readPoints(reader, xValues, yValues, count);
+            offsets[block] = data.size();
+            firstX[block] = xValues[0];
+            encodeBlock(data, xValues, yValues, count, uniform);
+        }
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeInt(VERSION);
+        dataOut.writeInt(uniform ? FLAG_UNIFORM : 0);
+        dataOut.writeInt(pointsCount);
+        dataOut.writeInt(blockSize);
+        if (uniform) {
+            dataOut.writeDouble(leftX);
+            dataOut.writeDouble(rightX);
+        }
+        for (int block = 0; block < blockCount; block++) {
+            dataOut.writeLong(offsets[block]);
+            dataOut.writeDouble(firstX[block]);
+        }
+        dataOut.writeLong(data.size());
+        dataOut.write(data.bytes(), 0, data.size());
+        dataOut.flush();
+    }
+
+    /**
+     * Читает функцию в сжатом формате целиком. Блоки читаются и декодируются по одному
+     * @param in входной поток; не закрывается и читается ровно до конца функции
+     * @return табулированная функция, созданная текущей фабрикой
+     * @throws IOException если произошла ошибка ввода-вывода или данные некорректны
+     */
+    static TabulatedFunction read(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        ByteBuffer fixed = ByteBuffer.allocate(20);
+        dataIn.readFully(fixed.array());
+        Header header = Header.parse(fixed);
+        if (header.uniform) {
+            header.leftX = dataIn.readDouble();
+            header.rightX = dataIn.readDouble();
+        }
+        for (int block = 0; block < header.blockCount; block++) {
+            header.offsets[block] = dataIn.readLong();
+            header.firstX[block] = dataIn.readDouble();
+        }
+        header.dataSize = dataIn.readLong();
+        header.validate();
+
+        double[] xValues = new double[header.pointsCount];
+        double[] yValues = new double[header.pointsCount];
+        byte[] bytes = new byte[0];
+        for (int block = 0; block < header.blockCount; block++) {
+            int length = header.blockLength(block);
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            dataIn.readFully(bytes, 0, length);
+            int start = block * header.blockSize;
+            decodeBlock(header, block, bytes, length, xValues, yValues, start);
+        }
+
+        if (header.uniform) {
+            return TabulatedFunctions.createTabulatedFunction(header.leftX, header.rightX, yValues);
+        }
+        return TabulatedFunctions.createTabulatedFunction(xValues, yValues);
+    }
+
+    /**
+     * Читает из канала только блоки, содержащие точки отрезка [leftX, rightX], и первую точку
+     * следующего блока, чтобы значения на всем отрезке интерполировались по тем же точкам,
+     * что и в исходной функции
+     * @param in канал с произвольным доступом; функция читается с текущей позиции, позиция не сохраняется
+     * @return табулированная функция из точек найденных блоков, созданная текущей фабрикой
+     * @throws IOException если произошла ошибка ввода-вывода или данные некорректны
+     */
+    static TabulatedFunction read(SeekableByteChannel in, double leftX, double rightX) throws IOException {
+        if (!(leftX <= rightX)) {
+            throw new IllegalArgumentException("Левая граница отрезка должна быть не больше правой: ["
+                    + leftX + ", " + rightX + "]");
+        }
+
+        long base = in.position();
+        ByteBuffer fixed = ByteBuffer.allocate(20);
+        readFully(in, fixed);
+        fixed.flip();
+        Header header = Header.parse(fixed);
+
+        long indexSize = (header.uniform ? 16 : 0) + 16L * header.blockCount + 8;
+        if (indexSize > Integer.MAX_VALUE) {
+            throw new IOException("Некорректные данные: слишком большой индекс блоков");
+        }
+        int indexBytes = (int) indexSize;
+        ByteBuffer index = ByteBuffer.allocate(indexBytes);
+        readFully(in, index);
+        index.flip();
+        if (header.uniform) {
+            header.leftX = index.getDouble();
+            header.rightX = index.getDouble();
+        }
+        for (int block = 0; block < header.blockCount; block++) {
+            header.offsets[block] = index.getLong();
+            header.firstX[block] = index.getDouble();
+        }
+        header.dataSize = index.getLong();
+        header.validate();
+        long dataStart = base + 20 + indexBytes;
+
+        // Последние блоки, начинающиеся не правее границ отрезка
+        int first = Math.max(0, lastBlockStartingAt(header, leftX));
+        int last = Math.max(first, lastBlockStartingAt(header, rightX));
+        // Блок из одной точки не задает функцию - берем и предыдущий
+        if (first == header.blockCount - 1 && header.blockPoints(first) < 2) {
+            first--;
+        }
+
+        int pointsCount = 0;
+        for (int block = first; block <= last; block++) {
+            pointsCount += header.blockPoints(block);
+        }
+        boolean withNext = last + 1 < header.blockCount;
+        double[] xValues = new double[pointsCount + (withNext ? 1 : 0)];
+        double[] yValues = new double[xValues.length];
+
+        byte[] bytes = new byte[0];
+        int position = 0;
+        for (int block = first; block <= last; block++) {
+            int length = header.blockLength(block);
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            in.position(dataStart + header.offsets[block]);
+            readFully(in, ByteBuffer.wrap(bytes, 0, length));
+            decodeBlock(header, block, bytes, length, xValues, yValues, position);
+            position += header.blockPoints(block);
+        }
+
+        if (withNext) {
+            // Первая точка блока записана без сжатия в его начале
+            ByteBuffer point = ByteBuffer.allocate(header.uniform ? 8 : 16);
+            in.position(dataStart + header.offsets[last + 1]);
+            readFully(in, point);
+            point.flip();
+            xValues[position] = header.uniform
+                    ? header.leftX + (last + 1) * header.blockSize * header.step()
+                    : point.getDouble();
+            yValues[position] = point.getDouble();
+        }
+
+        return TabulatedFunctions.createTabulatedFunction(xValues, yValues);
+    }
+
+    // === КОДИРОВАНИЕ БЛОКОВ ===
+
+    private static void encodeBlock(BitWriter out, double[] xValues, double[] yValues, int count, boolean uniform) {
+        if (!uniform) {
+            out.write(Double.doubleToRawLongBits(xValues[0]), 64);
+        }
+        out.write(Double.doubleToRawLongBits(yValues[0]), 64);
+
+        if (!uniform) {
+            long previous = sortable(Double.doubleToRawLongBits(xValues[0]));
+            long previousDelta = 0;
+            for (int i = 1; i < count; i++) {
+                long current = sortable(Double.doubleToRawLongBits(xValues[i]));
+                long delta = current - previous;
+                writeDeltaOfDelta(out, delta - previousDelta);
+                previousDelta = delta;
+                previous = current;
+            }
+        }
+
+        long previous = Double.doubleToRawLongBits(yValues[0]);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            long current = Double.doubleToRawLongBits(yValues[i]);
+            long xor = current ^ previous;
+            if (xor == 0) {
+                out.write(0, 1);
+            } else {
+                int leading = Long.numberOfLeadingZeros(xor);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    // Значащие биты помещаются в окно предыдущего значения
+                    out.write(0b10, 2);
+                    out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int length = 64 - leading - trailing;
+                    out.write(0b11, 2);
+                    out.write(leading, 6);
+                    out.write(length - 1, 6);
+                    out.write(xor >>> trailing, length);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previous = current;
+        }
+
+        out.alignToByte();
+    }
+
+    // Разность второго порядка: зигзаг-код в одной из групп 0, 7, 9, 12, 32 или 64 бит
+    private static void writeDeltaOfDelta(BitWriter out, long deltaOfDelta) {
+        long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+        if (zigzag == 0) {
+            out.write(0, 1);
+        } else if (Long.compareUnsigned(zigzag, 1L << 7) < 0) {
+            out.write(0b10, 2);
+            out.write(zigzag, 7);
+        } else if (Long.compareUnsigned(zigzag, 1L << 9) < 0) {
+            out.write(0b110, 3);
+            out.write(zigzag, 9);
+        } else if (Long.compareUnsigned(zigzag, 1L << 12) < 0) {
+            out.write(0b1110, 4);
+            out.write(zigzag, 12);
+        } else if ((zigzag >>> 32) == 0) {
+            out.write(0b11110, 5);
+            out.write(zigzag, 32);
+        } else {
+            out.write(0b11111, 5);
+            out.write(zigzag, 64);
+        }
+    }
+
+    // === ДЕКОДИРОВАНИЕ БЛОКОВ ===
+
+    private static void decodeBlock(Header header, int block, byte[] bytes, int length,
+                                    double[] xValues, double[] yValues, int offset) throws IOException {
+        int count = header.blockPoints(block);
+        BitReader in = new BitReader(bytes, length);
+
+        if (header.uniform) {
+            double step = header.step();
+            int start = block * header.blockSize;
+            for (int i = 0; i < count; i++) {
+                xValues[offset + i] = header.leftX + (start + i) * step;
+            }
+        } else {
+            xValues[offset] = Double.longBitsToDouble(in.read(64));
+        }
+        long previous = in.read(64);
+        yValues[offset] = Double.longBitsToDouble(previous);
+
+        if (!header.uniform) {
+            long previousX = sortable(Double.doubleToRawLongBits(xValues[offset]));
+            long previousDelta = 0;
+            for (int i = 1; i < count; i++) {
+                long delta = previousDelta + readDeltaOfDelta(in);
+                previousX += delta;
+                xValues[offset + i] = Double.longBitsToDouble(sortable(previousX));
+                previousDelta = delta;
+            }
+        }
+
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (in.read(1) != 0) {
+                long xor;
+                if (in.read(1) == 0) {
+                    if (previousLeading < 0) {
+                        throw new IOException("Некорректные данные: блок " + block + " поврежден");
+                    }
+                    xor = in.read(64 - previousLeading - previousTrailing) << previousTrailing;
+                } else {
+                    int leading = (int) in.read(6);
+                    int significant = (int) in.read(6) + 1;
+                    int trailing = 64 - leading - significant;
+                    if (trailing < 0) {
+                        throw new IOException("Некорректные данные: блок " + block + " поврежден");
+                    }
+                    xor = in.read(significant) << trailing;
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+                previous ^= xor;
+            }
+            yValues[offset + i] = Double.longBitsToDouble(previous);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) throws IOException {
+        long zigzag;
+        if (in.read(1) == 0) {
+            return 0;
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(7);
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(9);
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(12);
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(32);
+        } else {
+            zigzag = in.read(64);
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    // === ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ===
+
+    // Биты double, сравнение которых как long совпадает со сравнением чисел; преобразование обратно себе
+    private static long sortable(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    // Сетка равномерна, если каждая координата побитово равна leftX + i * step
+    private static boolean isUniform(TabulatedFunction function, double leftX, double step) {
+        int pointsCount = function.getPointsCount();
+        double[] xValues = new double[Math.min(DEFAULT_BLOCK_SIZE, pointsCount)];
+        double[] yValues = new double[xValues.length];
+        PointBlockReader reader = function.pointBlockReader();
+        int start = 0;
+        int count;
+        while ((count = reader.read(xValues, yValues, xValues.length)) > 0) {
+            for (int i = 0; i < count; i++) {
+                if (Double.compare(xValues[i], leftX + (start + i) * step) != 0) {
+                    return false;
+                }
+            }
+            start += count;
+        }
+        return true;
+    }
+
+    private static void readPoints(PointBlockReader reader, double[] xValues, double[] yValues, int count)
+            throws IOException {
+        int read = reader.read(xValues, yValues, count);
+        if (read != count) {
+            throw new IOException("Функция изменилась во время записи");
+        }
+    }
+
+    // Номер последнего блока, первая точка которого не правее x; -1, если таких нет
+    private static int lastBlockStartingAt(Header header, double x) {
+        int low = 0;
+        int high = header.blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (header.firstX[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Канал закончился раньше, чем табулированная функция");
+            }
+        }
+    }
+
+    /**
+     * Заголовок и индекс блоков
+     */
+    private static final class Header {
+        boolean uniform;
+        int pointsCount;
+        int blockSize;
+        int blockCount;
+        double leftX;
+        double rightX;
+        long[] offsets;
+        double[] firstX;
+        long dataSize;
+
+        // Разбирает первые 20 байт заголовка, записанные в fixed
+        static Header parse(ByteBuffer fixed) throws IOException {
+            if (fixed.getInt() != MAGIC) {
+                throw new IOException("Некорректные данные: это не сжатая табулированная функция");
+            }
+            int version = fixed.getInt();
+            if (version != VERSION) {
+                throw new IOException("Некорректные данные: неподдерживаемая версия формата " + version);
+            }
+            int flags = fixed.getInt();
+            Header header = new Header();
+            header.uniform = (flags & FLAG_UNIFORM) != 0;
+            header.pointsCount = fixed.getInt();
+            header.blockSize = fixed.getInt();
+            if (header.pointsCount < 2) {
+                throw new IOException("Некорректные данные: количество точек должно быть не менее 2, получено: "
+                        + header.pointsCount);
+            }
+            if (header.blockSize < 1 || header.blockSize > MAX_BLOCK_SIZE) {
+                throw new IOException("Некорректные данные: количество точек в блоке " + header.blockSize);
+            }
+            header.blockCount = (int) (((long) header.pointsCount + header.blockSize - 1) / header.blockSize);
+            header.offsets = new long[header.blockCount];
+            header.firstX = new double[header.blockCount];
+            return header;
+        }
+
+        // Проверяет индекс: блоки идут подряд и не длиннее предельного размера
+        void validate() throws IOException {
+            if (uniform && !(leftX < rightX)) {
+                throw new IOException("Некорректные данные: границы сетки [" + leftX + ", " + rightX + "]");
+            }
+            long end = dataSize;
+            for (int block = blockCount - 1; block >= 0; block--) {
+                long length = end - offsets[block];
+                if (length <= 0 || length > (long) MAX_POINT_BYTES * blockPoints(block) + 16) {
+                    throw new IOException("Некорректные данные: неверная длина блока " + block);
+                }
+                end = offsets[block];
+            }
+            if (end != 0) {
+                throw new IOException("Некорректные данные: неверное смещение первого блока");
+            }
+        }
+
+        int blockPoints(int block) {
+            return Math.min(blockSize, pointsCount - block * blockSize);
+        }
+
+        int blockLength(int block) {
+            long end = block + 1 < blockCount ? offsets[block + 1] : dataSize;
+            return (int) (end - offsets[block]);
+        }
+
+        double step() {
+            return (rightX - leftX) / (pointsCount - 1);
+        }
+    }
+
+    /**
+     * Запись битов в растущий массив байтов, старшие биты первыми
+     */
+    private static final class BitWriter {
+        private byte[] bytes = new byte[1 << 12];
+        private int size;
+        private long accumulator;
+        private int bits;
+
+        // Записывает младшие count бит value, count от 1 до 64
+        void write(long value, int count) {
+            if (count < 64) {
+                value &= (1L << count) - 1;
+            }
+            int free = 64 - bits;
+            if (count <= free) {
+                accumulator |= count == free ? value : value << (free - count);
+                bits += count;
+                if (bits == 64) {
+                    flush();
+                }
+            } else {
+                int rest = count - free;
+                accumulator |= value >>> rest;
+                bits = 64;
+                flush();
+                accumulator = value << (64 - rest);
+                bits = rest;
+            }
+        }
+
+        // Дописывает неполный байт нулями
+        void alignToByte() {
+            int count = (bits + 7) >>> 3;
+            ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                bytes[size++] = (byte) (accumulator >>> (56 - 8 * i));
+            }
+            accumulator = 0;
+            bits = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        private void flush() {
+            ensureCapacity(8);
+            for (int i = 0; i < 8; i++) {
+                bytes[size++] = (byte) (accumulator >>> (56 - 8 * i));
+            }
+            accumulator = 0;
+            bits = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Чтение битов из массива байтов, старшие биты первыми
+     */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private final long limit;
+        private long position;
+
+        BitReader(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.limit = 8L * length;
+        }
+
+        // Читает count бит, count от 1 до 64
+        long read(int count) throws IOException {
+            if (position + count > limit) {
+                throw new EOFException("Некорректные данные: блок закончился раньше, чем его точки");
+            }
+            long result = 0;
+            while (count > 0) {
+                int bitOffset = (int) (position & 7);
+                int available = 8 - bitOffset;
+                int take = Math.min(available, count);
+                int current = bytes[(int) (position >>> 3)] & 0xFF;
+                result = (result << take) | ((current >>> (available - take)) & ((1 << take) - 1));
+                position += take;
+                count -= take;
+            }
+            return result;
+        }
+    }
+}
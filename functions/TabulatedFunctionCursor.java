@@ -0,0 +1,18 @@
+package functions;
+
+/**
+ * Курсор для последовательного вычисления значений табулированной функции.
+ * Запоминает отрезок, найденный при предыдущем вызове, и начинает с него поиск следующего,
+ * поэтому при монотонном (или почти монотонном) обходе аргументов значение находится
+ * за амортизированное O(1). Результаты совпадают с getFunctionValue исходной функции.
+ *
+ * Курсор не потокобезопасен: каждый поток должен получать собственный курсор
+ * через TabulatedFunction.cursor()
+ */
+public interface TabulatedFunctionCursor extends Function {
+
+    /**
+     * Сбрасывает запомненный отрезок, следующий поиск начнется с начала таблицы
+     */
+    void reset();
+}
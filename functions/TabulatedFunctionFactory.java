@@ -0,0 +1,48 @@
+package functions;
+
+/**
+ * Фабрика табулированных функций.
+ * Определяет, какая реализация TabulatedFunction создается методами класса TabulatedFunctions
+ */
+public interface TabulatedFunctionFactory {
+
+    /**
+     * Создает равномерно табулированную функцию с нулевыми значениями
+     * @param leftX левая граница области определения
+     * @param rightX правая граница области определения
+     * @param pointsCount количество точек
+     * @return табулированная функция
+     */
+    TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount);
+
+    /**
+     * Создает равномерно табулированную функцию с заданными значениями
+     * @param leftX левая граница области определения
+     * @param rightX правая граница области определения
+     * @param values массив значений функции
+     * @return табулированная функция
+     */
+    TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values);
+
+    /**
+     * Создает табулированную функцию из массива точек
+     * @param points массив точек, упорядоченных по x
+     * @return табулированная функция
+     */
+    TabulatedFunction createTabulatedFunction(FunctionPoint[] points);
+
+    /**
+     * Создает табулированную функцию из массивов координат.
+     * По умолчанию собирает массив точек; реализации без объектов-точек переопределяют метод
+     * @param xValues массив значений x, упорядоченных по возрастанию
+     * @param yValues массив значений y той же длины
+     * @return табулированная функция
+     */
+    default TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+        FunctionPoint[] points = new FunctionPoint[xValues.length];
+        for (int i = 0; i < xValues.length; i++) {
+            points[i] = new FunctionPoint(xValues[i], yValues[i]);
+        }
+        return createTabulatedFunction(points);
+    }
+}
@@ -1,8 +1,15 @@
 package functions;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 /**
  * Утилитный класс для работы с табулированными функциями.
@@ -18,6 +25,35 @@ public class TabulatedFunctions {
         throw new AssertionError("Нельзя создавать объекты утилитного класса TabulatedFunctions");
     }
 
+    // Фабрика, через которую создаются все табулированные функции.
+    // По умолчанию равномерные сетки (tabulate и конструкторы с leftX, rightX) хранятся как
+    // UniformTabulatedFunction, а функции из произвольных точек - как ArrayTabulatedFunction
+    private static volatile TabulatedFunctionFactory factory = new UniformTabulatedFunction.UniformTabulatedFunctionFactory();
+
+    /**
+     * Устанавливает фабрику, определяющую реализацию создаваемых табулированных функций.
+     * Например, DoubleArrayTabulatedFunction.DoubleArrayTabulatedFunctionFactory хранит точки
+     * в двух массивах double вместо массива объектов FunctionPoint.
+     *
+     * @param tabulatedFunctionFactory новая фабрика
+     * @throws IllegalArgumentException если фабрика равна null
+     */
+    public static void setTabulatedFunctionFactory(TabulatedFunctionFactory tabulatedFunctionFactory) {
+        if (tabulatedFunctionFactory == null) {
+            throw new IllegalArgumentException("Фабрика не может быть null");
+        }
+        factory = tabulatedFunctionFactory;
+    }
+
+    /**
+     * Возвращает текущую фабрику табулированных функций.
+     *
+     * @return текущая фабрика
+     */
+    public static TabulatedFunctionFactory getTabulatedFunctionFactory() {
+        return factory;
+    }
+
     // ==================== Методы для создания табулированных функций ====================
 
     /**
@@ -34,7 +70,20 @@ public class TabulatedFunctions {
      * @throws IllegalArgumentException если границы табулирования выходят за область определения функции
      */
     public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
-        // Проверка входных параметров
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+
+        // Создаем массив значений функции
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        // Точки leftX + i * step вычисляются одним пакетным вызовом
+        function.getFunctionValues(leftX, step, values, pointsCount);
+
+        // Возвращаем табулированную функцию, созданную текущей фабрикой
+        return factory.createTabulatedFunction(leftX, rightX, values);
+    }
+
+    private static void checkTabulationArguments(Function function, double leftX, double rightX, int pointsCount) {
         if (function == null) {
             throw new IllegalArgumentException("Функция не может быть null");
         }
@@ -62,18 +111,6 @@ public class TabulatedFunctions {
                             function.getLeftDomainBorder() + ", " + function.getRightDomainBorder() + "]"
             );
         }
-
-        // Создаем массив значений функции
-        double[] values = new double[pointsCount];
-        double step = (rightX - leftX) / (pointsCount - 1);
-
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = function.getFunctionValue(x);
-        }
-
-        // Возвращаем табулированную функцию (используем ArrayTabulatedFunction по умолчанию)
-        return new ArrayTabulatedFunction(leftX, rightX, values);
     }
 
     /**
@@ -127,7 +164,7 @@ public class TabulatedFunctions {
             }
         }
 
-        return new ArrayTabulatedFunction(points);
+        return factory.createTabulatedFunction(points);
     }
 
     /**
@@ -154,13 +191,19 @@ public class TabulatedFunctions {
             throw new IllegalArgumentException("Массивы должны содержать не менее 2 элементов. Получено: " + xValues.length);
         }
 
-        // Создаем массив точек
-        FunctionPoint[] points = new FunctionPoint[xValues.length];
-        for (int i = 0; i < xValues.length; i++) {
-            points[i] = new FunctionPoint(xValues[i], yValues[i]);
+        // Проверяем упорядоченность по x
+        for (int i = 1; i < xValues.length; i++) {
+            if (xValues[i] <= xValues[i-1]) {
+                throw new IllegalArgumentException(
+                        "Точки должны быть строго упорядочены по x. " +
+                                "Точка " + i + ": x = " + xValues[i] +
+                                " не больше точки " + (i-1) + ": x = " + xValues[i-1]
+                );
+            }
         }
 
-        return createTabulatedFunction(points);
+        // Фабрика сама решает, нужны ли промежуточные объекты FunctionPoint
+        return factory.createTabulatedFunction(xValues, yValues);
     }
 
     /**
@@ -174,7 +217,7 @@ public class TabulatedFunctions {
      * @throws IllegalArgumentException если leftX >= rightX
      */
     public static TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
-        return new ArrayTabulatedFunction(leftX, rightX, pointsCount);
+        return factory.createTabulatedFunction(leftX, rightX, pointsCount);
     }
 
     /**
@@ -189,7 +232,7 @@ public class TabulatedFunctions {
      * @throws IllegalArgumentException если leftX >= rightX
      */
     public static TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] yValues) {
-        return new ArrayTabulatedFunction(leftX, rightX, yValues);
+        return factory.createTabulatedFunction(leftX, rightX, yValues);
     }
 
     /**
@@ -266,9 +309,29 @@ public class TabulatedFunctions {
      * @throws IllegalArgumentException если a или b выходят за область определения
      */
     public static double integrate(TabulatedFunction function, double a, double b) {
+        return integrate(function, a, b, SummationMode.NAIVE);
+    }
+
+    /**
+     * Находит интеграл табулированной функции на отрезке [a, b] методом трапеций
+     * с заданным режимом суммирования площадей.
+     * Для функции с индексом (withIntegralIndex) сумма берется из индекса и режим не применяется.
+     *
+     * @param function табулированная функция
+     * @param a нижний предел интегрирования
+     * @param b верхний предел интегрирования
+     * @param mode режим суммирования
+     * @return приближенное значение интеграла
+     * @throws IllegalArgumentException если function или mode равны null
+     * @throws IllegalArgumentException если a или b выходят за область определения
+     */
+    public static double integrate(TabulatedFunction function, double a, double b, SummationMode mode) {
         if (function == null) {
             throw new IllegalArgumentException("Функция не может быть null");
         }
+        if (mode == null) {
+            throw new IllegalArgumentException("Режим суммирования не может быть null");
+        }
 
         // Проверяем границы интегрирования
         if (a < function.getLeftDomainBorder() || a > function.getRightDomainBorder() ||
@@ -291,55 +354,79 @@ public class TabulatedFunctions {
             b = temp;
         }
 
+        // Индекс отвечает на запрос без обхода точек; площади в нем уже сложены
+        if (function instanceof IndexedTabulatedFunction) {
+            return ((IndexedTabulatedFunction) function).integrate(a, b);
+        }
+
         // Используем метод трапеций с шагом, основанным на точках табуляции
         int pointsCount = function.getPointsCount();
-        double result = 0.0;
+        CompensatedSum result = new CompensatedSum(mode);
 
-        // Находим индексы точек, между которыми находятся a и b
-        int startIndex = 0;
-        while (startIndex < pointsCount && function.getPointX(startIndex) < a) {
-            startIndex++;
+        // first - первая точка правее a, last - последняя точка левее b
+        int first = 0;
+        while (first < pointsCount && function.getPointX(first) <= a) {
+            first++;
         }
 
-        int endIndex = startIndex;
-        while (endIndex < pointsCount && function.getPointX(endIndex) < b) {
-            endIndex++;
+        int last = first - 1;
+        while (last + 1 < pointsCount && function.getPointX(last + 1) < b) {
+            last++;
         }
 
-        // Если a не совпадает с точкой табуляции, добавляем первую трапецию
-        if (startIndex > 0 && function.getPointX(startIndex - 1) < a) {
-            double x0 = function.getPointX(startIndex - 1);
-            double x1 = function.getPointX(startIndex);
-            double y0 = function.getPointY(startIndex - 1);
-            double y1 = function.getPointY(startIndex);
-
-            // Интерполируем значение в точке a
-            double ya = y0 + (y1 - y0) * (a - x0) / (x1 - x0);
-            result += (x1 - a) * (y1 + ya) / 2;
+        // a и b лежат внутри одного отрезка
+        if (first > last) {
+            double ya = interpolateSegment(function, first - 1, a);
+            double yb = interpolateSegment(function, first - 1, b);
+            return (b - a) * (ya + yb) / 2;
         }
 
+        // Трапеция от a до первой точки правее a (при a в точке табуляции - целый отрезок)
+        double ya = interpolateSegment(function, first - 1, a);
+        result.add((function.getPointX(first) - a) * (ya + function.getPointY(first)) / 2);
+
         // Суммируем трапеции между точками табуляции
-        for (int i = startIndex; i < endIndex - 1; i++) {
+        for (int i = first; i < last; i++) {
             double x1 = function.getPointX(i);
             double x2 = function.getPointX(i + 1);
             double y1 = function.getPointY(i);
             double y2 = function.getPointY(i + 1);
-            result += (x2 - x1) * (y1 + y2) / 2;
+            result.add((x2 - x1) * (y1 + y2) / 2);
         }
 
-        // Если b не совпадает с точкой табуляции, добавляем последнюю трапецию
-        if (endIndex < pointsCount && function.getPointX(endIndex) > b) {
-            double x0 = function.getPointX(endIndex - 1);
-            double x1 = function.getPointX(endIndex);
-            double y0 = function.getPointY(endIndex - 1);
-            double y1 = function.getPointY(endIndex);
+        // Трапеция от последней точки левее b до b
+        double yb = interpolateSegment(function, last, b);
+        result.add((b - function.getPointX(last)) * (function.getPointY(last) + yb) / 2);
 
-            // Интерполируем значение в точке b
-            double yb = y0 + (y1 - y0) * (b - x0) / (x1 - x0);
-            result += (b - x0) * (y0 + yb) / 2;
-        }
+        return result.getSum();
+    }
 
-        return result;
+    // Значение на отрезке [x(segment), x(segment + 1)], интерполированное в точке x
+    private static double interpolateSegment(TabulatedFunction function, int segment, double x) {
+        double x0 = function.getPointX(segment);
+        double x1 = function.getPointX(segment + 1);
+        double y0 = function.getPointY(segment);
+        double y1 = function.getPointY(segment + 1);
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+    /**
+     * Подключает к табулированной функции индекс интегралов: integrate для возвращенной функции
+     * выполняется за O(log n), а изменения точек обновляют индекс.
+     * Дальнейшие изменения точек нужно выполнять через возвращенный объект
+     *
+     * @param function табулированная функция
+     * @return функция с индексом; если индекс уже подключен, сама function
+     * @throws IllegalArgumentException если function равна null
+     */
+    public static IndexedTabulatedFunction withIntegralIndex(TabulatedFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        if (function instanceof IndexedTabulatedFunction) {
+            return (IndexedTabulatedFunction) function;
+        }
+        return new IndexedTabulatedFunction(function);
     }
 
     // ==================== Методы для ввода/вывода табулированных функций ====================
@@ -368,21 +455,40 @@ public class TabulatedFunctions {
             throw new NullPointerException("Выходной поток не может быть null");
         }
 
-        DataOutputStream dataOut = new DataOutputStream(out);
-
-        // Записываем количество точек
+        // Точки забираются блоками через pointBlockReader и кодируются в массив байт
+        // в том же порядке байт, что и DataOutputStream; заполненный массив передается
+        // в поток одним вызовом write
         int pointsCount = function.getPointsCount();
-        dataOut.writeInt(pointsCount);
-
-        // Записываем координаты всех точек
-        for (int i = 0; i < pointsCount; i++) {
-            dataOut.writeDouble(function.getPointX(i));
-            dataOut.writeDouble(function.getPointY(i));
+        ByteBuffer buffer = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        buffer.putInt(pointsCount);
+
+        double[] xValues = new double[Math.min(CHANNEL_BUFFER_SIZE / 16, pointsCount)];
+        double[] yValues = new double[xValues.length];
+        PointBlockReader reader = function.pointBlockReader();
+
+        int written = 0;
+        while (written < pointsCount) {
+            int count = Math.min(buffer.remaining() / 16, pointsCount - written);
+            if (count == 0) {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+                continue;
+            }
+            count = reader.read(xValues, yValues, Math.min(count, xValues.length));
+            if (count == 0) {
+                throw new IOException("Функция изменилась во время записи: записано " + written
+                        + " точек из " + pointsCount);
+            }
+            for (int i = 0; i < count; i++) {
+                buffer.putDouble(xValues[i]);
+                buffer.putDouble(yValues[i]);
+            }
+            written += count;
         }
+        out.write(buffer.array(), 0, buffer.position());
 
-        // Принудительно сбрасываем буфер
-        dataOut.flush();
-        // Не закрываем dataOut, чтобы не закрывать переданный поток out
+        // Принудительно сбрасываем буфер; поток out не закрываем
+        out.flush();
     }
 
     /**
@@ -427,9 +533,134 @@ public class TabulatedFunctions {
         return createTabulatedFunction(xValues, yValues);
     }
 
+    // Размер буфера двоичного ввода-вывода: 4096 точек по 16 байт
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Выводит табулированную функцию в канал в том же формате, что и outputTabulatedFunction(OutputStream):
+     * количество точек (int), затем пары координат (double, double) в big-endian.
+     *
+     * Точки забираются блоками через pointBlockReader и копируются в прямой буфер целиком,
+     * без DataOutputStream и побайтовой записи каждого числа. Канал не закрывается.
+     *
+     * @param function табулированная функция для вывода
+     * @param out выходной канал
+     * @throws NullPointerException если function или out равны null
+     * @throws IOException если произошла ошибка ввода-вывода
+     */
+    public static void outputTabulatedFunction(TabulatedFunction function, WritableByteChannel out) throws IOException {
+        if (function == null) {
+            throw new NullPointerException("Функция не может быть null");
+        }
+        if (out == null) {
+            throw new NullPointerException("Выходной канал не может быть null");
+        }
+
+        int pointsCount = function.getPointsCount();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        buffer.putInt(pointsCount);
+
+        double[] xValues = new double[Math.min(CHANNEL_BUFFER_SIZE / 16, pointsCount)];
+        double[] yValues = new double[xValues.length];
+        PointBlockReader reader = function.pointBlockReader();
+
+        int written = 0;
+        while (written < pointsCount) {
+            int count = Math.min(buffer.remaining() / 16, pointsCount - written);
+            if (count == 0) {
+                writeFully(out, buffer);
+                continue;
+            }
+            count = reader.read(xValues, yValues, Math.min(count, xValues.length));
+            if (count == 0) {
+                throw new IOException("Функция изменилась во время записи: записано " + written
+                        + " точек из " + pointsCount);
+            }
+            for (int i = 0; i < count; i++) {
+                buffer.putDouble(xValues[i]);
+                buffer.putDouble(yValues[i]);
+            }
+            written += count;
+        }
+        writeFully(out, buffer);
+    }
+
+    /**
+     * Вводит табулированную функцию из канала в формате outputTabulatedFunction.
+     * Из канала читается ровно столько байт, сколько занимает функция, поэтому канал
+     * можно читать дальше. Канал не закрывается.
+     *
+     * @param in входной канал
+     * @return восстановленная табулированная функция
+     * @throws NullPointerException если in равен null
+     * @throws EOFException если канал закончился раньше, чем функция
+     * @throws IOException если произошла ошибка ввода-вывода или данные некорректны
+     */
+    public static TabulatedFunction inputTabulatedFunction(ReadableByteChannel in) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Входной канал не может быть null");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        buffer.limit(4);
+        readFully(in, buffer);
+        buffer.flip();
+        int pointsCount = buffer.getInt();
+        if (pointsCount < 2) {
+            throw new IOException("Некорректные данные: количество точек должно быть не менее 2, получено: " + pointsCount);
+        }
+
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+
+        int read = 0;
+        while (read < pointsCount) {
+            int count = Math.min(CHANNEL_BUFFER_SIZE / 16, pointsCount - read);
+            buffer.clear();
+            buffer.limit(16 * count);
+            readFully(in, buffer);
+            buffer.flip();
+            for (int i = read; i < read + count; i++) {
+                xValues[i] = buffer.getDouble();
+                yValues[i] = buffer.getDouble();
+            }
+            read += count;
+        }
+
+        return createTabulatedFunction(xValues, yValues);
+    }
+
+    // Записывает содержимое буфера в канал и очищает буфер
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Заполняет буфер до limit
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Канал закончился раньше, чем табулированная функция");
+            }
+        }
+    }
+
+    // Точек в одном блоке текстовой записи
+    private static final int TEXT_BLOCK_SIZE = 1024;
+
+    // Начальная емкость массивов точек при чтении текста
+    private static final int TEXT_INITIAL_CAPACITY = 1024;
+
     /**
      * Записывает табулированную функцию в символьный поток.
      * Формат: количество точек на первой строке, затем пары координат на отдельных строках.
+     * Числа записываются так же, как Double.toString, и читаются readTabulatedFunction без потери точности.
+     *
+     * Точки забираются блоками через pointBlockReader, текст блока собирается в одном StringBuilder
+     * и передается в поток одним вызовом write, без промежуточных строк для каждого числа.
      *
      * <p><strong>Обоснование обработки исключений:</strong> Метод пробрасывает IOException,
      * предоставляя вызывающему коду контроль над обработкой ошибок записи.</p>
@@ -450,28 +681,51 @@ public class TabulatedFunctions {
             throw new NullPointerException("Выходной поток не может быть null");
         }
 
-        PrintWriter writer = new PrintWriter(new BufferedWriter(out));
+        String lineSeparator = System.lineSeparator();
+        StringBuilder text = new StringBuilder(TEXT_BLOCK_SIZE * 48);
+        char[] chars = new char[text.capacity()];
 
         // Записываем количество точек
         int pointsCount = function.getPointsCount();
-        writer.println(pointsCount);
-
-        // Записываем координаты всех точек
-        for (int i = 0; i < pointsCount; i++) {
-            writer.print(function.getPointX(i));
-            writer.print(' ');
-            writer.println(function.getPointY(i));
+        text.append(pointsCount).append(lineSeparator);
+
+        // Записываем координаты всех точек блоками
+        double[] xValues = new double[Math.min(TEXT_BLOCK_SIZE, pointsCount)];
+        double[] yValues = new double[xValues.length];
+        PointBlockReader reader = function.pointBlockReader();
+        int count;
+        while ((count = reader.read(xValues, yValues, xValues.length)) > 0) {
+            for (int i = 0; i < count; i++) {
+                text.append(xValues[i]).append(' ').append(yValues[i]).append(lineSeparator);
+            }
+            chars = writeText(out, text, chars);
         }
+        writeText(out, text, chars);
 
         // Принудительно сбрасываем буфер
-        writer.flush();
-        // Не закрываем writer, чтобы не закрывать переданный поток out
+        out.flush();
+    }
+
+    // Передает текст в поток и очищает его; возвращает массив символов, возможно увеличенный
+    private static char[] writeText(Writer out, StringBuilder text, char[] chars) throws IOException {
+        int length = text.length();
+        if (length > chars.length) {
+            chars = new char[length];
+        }
+        text.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        text.setLength(0);
+        return chars;
     }
 
     /**
      * Читает табулированную функцию из символьного потока.
-     * Ожидает формат: количество точек на первой строке, затем пары координат на отдельных строках.
-     * Использует StreamTokenizer для разбора чисел.
+     * Ожидает формат: количество точек на первой строке, затем пары координат;
+     * числа разделяются пробелами, табуляциями и переводами строк.
+     *
+     * Числа разбираются прямо в буфере символов без создания строк и объектов Double
+     * и читаются в массивы double, которые растут по мере чтения. Перевод в double точный:
+     * результат совпадает с Double.parseDouble, поддерживаются экспоненциальная запись, NaN и Infinity.
      *
      * <p><strong>Обоснование обработки исключений:</strong> Метод пробрасывает IOException,
      * позволяя вызывающему коду решать, как реагировать на ошибки формата данных.</p>
@@ -489,62 +743,348 @@ public class TabulatedFunctions {
             throw new NullPointerException("Входной поток не может быть null");
         }
 
-        // Настраиваем StreamTokenizer для чтения чисел
-        StreamTokenizer tokenizer = new StreamTokenizer(new BufferedReader(in));
-        tokenizer.resetSyntax();
-        tokenizer.wordChars('0', '9');  // Цифры
-        tokenizer.wordChars('.', '.');  // Точка для десятичных дробей
-        tokenizer.wordChars('-', '-');  // Минус для отрицательных чисел
-        tokenizer.wordChars('+', '+');  // Плюс (на всякий случай)
-        tokenizer.wordChars('e', 'e');  // Экспоненциальная запись
-        tokenizer.wordChars('E', 'E');  // Экспоненциальная запись
-        tokenizer.whitespaceChars(' ', ' ');    // Пробел как разделитель
-        tokenizer.whitespaceChars('\t', '\t');  // Табуляция как разделитель
-        tokenizer.whitespaceChars('\n', '\n');  // Перевод строки как разделитель
-        tokenizer.whitespaceChars('\r', '\r');  // Возврат каретки как разделитель
-        tokenizer.parseNumbers();  // Автоматически парсить числа
+        NumberReader reader = new NumberReader(in);
 
         // Читаем количество точек
-        if (tokenizer.nextToken() != StreamTokenizer.TT_NUMBER) {
+        if (!reader.nextNumber()) {
             throw new IOException("Ожидалось число (количество точек)");
         }
-        int pointsCount = (int) tokenizer.nval;
+        int pointsCount = (int) reader.value();
 
         if (pointsCount < 2) {
             throw new IOException("Количество точек должно быть не менее 2, получено: " + pointsCount);
         }
 
-        // Читаем координаты точек
-        List<Double> xValuesList = new ArrayList<>();
-        List<Double> yValuesList = new ArrayList<>();
+        // Массивы растут по мере чтения: заявленное количество точек может не соответствовать данным
+        double[] xValues = new double[Math.min(TEXT_INITIAL_CAPACITY, pointsCount)];
+        double[] yValues = new double[xValues.length];
 
         for (int i = 0; i < pointsCount; i++) {
+            if (i == xValues.length) {
+                int capacity = (int) Math.min((long) xValues.length * 2, pointsCount);
+                xValues = Arrays.copyOf(xValues, capacity);
+                yValues = Arrays.copyOf(yValues, capacity);
+            }
+
             // Читаем x
-            if (tokenizer.nextToken() != StreamTokenizer.TT_NUMBER) {
+            if (!reader.nextNumber()) {
                 throw new IOException("Ожидалось число (координата x точки " + i + ")");
             }
-            double x = tokenizer.nval;
+            xValues[i] = reader.value();
 
             // Читаем y
-            if (tokenizer.nextToken() != StreamTokenizer.TT_NUMBER) {
+            if (!reader.nextNumber()) {
                 throw new IOException("Ожидалось число (координата y точки " + i + ")");
             }
-            double y = tokenizer.nval;
+            yValues[i] = reader.value();
+        }
+
+        // Создаем и возвращаем табулированную функцию
+        return createTabulatedFunction(xValues, yValues);
+    }
 
-            xValuesList.add(x);
-            yValuesList.add(y);
+    // ==================== Потоковая загрузка ====================
+
+    /**
+     * Начинает загрузку табулированной функции из байтового потока в формате outputTabulatedFunction
+     * и возвращает функцию сразу после чтения количества точек. Точки читаются в фоновом потоке;
+     * запросы к загруженной части отвечаются сразу, к остальной - по политике policy.
+     *
+     * <p><strong>Обоснование закрытия потоков:</strong> Поток НЕ закрывается: его можно закрыть
+     * после StreamingTabulatedFunction.awaitCompletion.</p>
+     *
+     * @param in входной байтовый поток
+     * @param policy поведение запросов к еще не загруженной части
+     * @return загружаемая табулированная функция
+     * @throws NullPointerException если in или policy равны null
+     * @throws IOException если не удается прочитать количество точек или оно некорректно
+     */
+    public static StreamingTabulatedFunction inputStreamingTabulatedFunction(
+            InputStream in, StreamingTabulatedFunction.Policy policy) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Входной поток не может быть null");
+        }
+        if (policy == null) {
+            throw new NullPointerException("Политика не может быть null");
         }
 
-        // Преобразуем списки в массивы
-        double[] xValues = new double[pointsCount];
-        double[] yValues = new double[pointsCount];
-        for (int i = 0; i < pointsCount; i++) {
-            xValues[i] = xValuesList.get(i);
-            yValues[i] = yValuesList.get(i);
+        DataInputStream dataIn = new DataInputStream(in);
+        int pointsCount = dataIn.readInt();
+        if (pointsCount < 2) {
+            throw new IOException("Некорректные данные: количество точек должно быть не менее 2, получено: " + pointsCount);
         }
 
-        // Создаем и возвращаем табулированную функцию
-        return createTabulatedFunction(xValues, yValues);
+        byte[] bytes = new byte[16 * Math.min(CHANNEL_BUFFER_SIZE / 16, pointsCount)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return StreamingTabulatedFunction.load(pointsCount, (xValues, yValues, offset, count) -> {
+            count = Math.min(count, bytes.length / 16);
+            dataIn.readFully(bytes, 0, 16 * count);
+            buffer.clear();
+            for (int i = offset; i < offset + count; i++) {
+                xValues[i] = buffer.getDouble();
+                yValues[i] = buffer.getDouble();
+            }
+            return count;
+        }, policy);
+    }
+
+    /**
+     * Начинает загрузку табулированной функции из символьного потока в формате writeTabulatedFunction
+     * и возвращает функцию сразу после чтения количества точек. Точки читаются в фоновом потоке;
+     * запросы к загруженной части отвечаются сразу, к остальной - по политике policy.
+     * Ошибки формата сообщаются через StreamingTabulatedFunction.awaitCompletion.
+     *
+     * <p><strong>Обоснование закрытия потоков:</strong> Поток НЕ закрывается: его можно закрыть
+     * после StreamingTabulatedFunction.awaitCompletion.</p>
+     *
+     * @param in входной символьный поток
+     * @param policy поведение запросов к еще не загруженной части
+     * @return загружаемая табулированная функция
+     * @throws NullPointerException если in или policy равны null
+     * @throws IOException если не удается прочитать количество точек или оно некорректно
+     */
+    public static StreamingTabulatedFunction readStreamingTabulatedFunction(
+            Reader in, StreamingTabulatedFunction.Policy policy) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Входной поток не может быть null");
+        }
+        if (policy == null) {
+            throw new NullPointerException("Политика не может быть null");
+        }
+
+        NumberReader reader = new NumberReader(in);
+        if (!reader.nextNumber()) {
+            throw new IOException("Ожидалось число (количество точек)");
+        }
+        int pointsCount = (int) reader.value();
+        if (pointsCount < 2) {
+            throw new IOException("Количество точек должно быть не менее 2, получено: " + pointsCount);
+        }
+
+        return StreamingTabulatedFunction.load(pointsCount, new StreamingTabulatedFunction.PointSource() {
+            private int index = 0;
+
+            @Override
+            public int read(double[] xValues, double[] yValues, int offset, int count) throws IOException {
+                for (int i = offset; i < offset + count; i++, index++) {
+                    if (!reader.nextNumber()) {
+                        throw new IOException("Ожидалось число (координата x точки " + index + ")");
+                    }
+                    xValues[i] = reader.value();
+                    if (!reader.nextNumber()) {
+                        throw new IOException("Ожидалось число (координата y точки " + index + ")");
+                    }
+                    yValues[i] = reader.value();
+                }
+                return count;
+            }
+        }, policy);
+    }
+
+    // ==================== Двоичный формат для отображения в память ====================
+
+    // Точек в одном блоке записи; столбцы x и y пишутся блоками по своим смещениям
+    private static final int MAPPED_BLOCK_SIZE = 8192;
+
+    /**
+     * Записывает табулированную функцию в файл формата MappedTabulatedFunction
+     * (заголовок и столбцы x и y в little-endian). Существующий файл перезаписывается.
+     *
+     * @param function табулированная функция
+     * @param file файл для записи
+     * @throws NullPointerException если function или file равны null
+     * @throws IOException если произошла ошибка ввода-вывода
+     */
+    public static void writeMappedTabulatedFunction(TabulatedFunction function, Path file) throws IOException {
+        if (function == null) {
+            throw new NullPointerException("Функция не может быть null");
+        }
+        if (file == null) {
+            throw new NullPointerException("Файл не может быть null");
+        }
+
+        int pointsCount = function.getPointsCount();
+        double[] xValues = new double[Math.min(MAPPED_BLOCK_SIZE, pointsCount)];
+        double[] yValues = new double[xValues.length];
+
+        try (FileChannel channel = openMappedFile(file, pointsCount)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(8 * xValues.length).order(ByteOrder.LITTLE_ENDIAN);
+            PointBlockReader reader = function.pointBlockReader();
+            for (int start = 0; start < pointsCount; ) {
+                int count = reader.read(xValues, yValues, Math.min(xValues.length, pointsCount - start));
+                if (count == 0) {
+                    throw new IOException("Функция изменилась во время записи: прочитано " + start
+                            + " точек из " + pointsCount);
+                }
+                writeMappedBlock(channel, buffer, pointsCount, start, xValues, yValues, count);
+                start += count;
+            }
+        }
+    }
+
+    /**
+     * Табулирует функцию прямо в файл формата MappedTabulatedFunction, не создавая таблицу в куче.
+     * Координаты точек leftX + i * step и значения совпадают с tabulate(function, leftX, rightX, pointsCount).
+     *
+     * @param function функция для табулирования
+     * @param leftX левая граница табулирования
+     * @param rightX правая граница табулирования
+     * @param pointsCount количество точек табулирования (должно быть >= 2)
+     * @param file файл для записи
+     * @throws IllegalArgumentException при тех же условиях, что и tabulate
+     * @throws NullPointerException если file равен null
+     * @throws IOException если произошла ошибка ввода-вывода
+     */
+    public static void writeMappedTabulatedFunction(Function function, double leftX, double rightX,
+                                                    int pointsCount, Path file) throws IOException {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        if (file == null) {
+            throw new NullPointerException("Файл не может быть null");
+        }
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+        double[] xValues = new double[Math.min(MAPPED_BLOCK_SIZE, pointsCount)];
+        double[] yValues = new double[xValues.length];
+
+        try (FileChannel channel = openMappedFile(file, pointsCount)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(8 * xValues.length).order(ByteOrder.LITTLE_ENDIAN);
+            for (int start = 0; start < pointsCount; start += xValues.length) {
+                int count = Math.min(xValues.length, pointsCount - start);
+                for (int i = 0; i < count; i++) {
+                    xValues[i] = leftX + (start + i) * step;
+                }
+                function.getFunctionValues(xValues, yValues, count);
+                writeMappedBlock(channel, buffer, pointsCount, start, xValues, yValues, count);
+            }
+        }
+    }
+
+    /**
+     * Открывает файл формата MappedTabulatedFunction. Точки не загружаются в кучу:
+     * функция вычисляется прямо по отображенному в память файлу.
+     *
+     * @param file файл, записанный writeMappedTabulatedFunction
+     * @return табулированная функция только для чтения
+     * @throws NullPointerException если file равен null
+     * @throws IOException если файл не удается прочитать или его формат неверен
+     */
+    public static MappedTabulatedFunction mapTabulatedFunction(Path file) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("Файл не может быть null");
+        }
+        return new MappedTabulatedFunction(file);
+    }
+
+    // Создает файл и записывает заголовок
+    private static FileChannel openMappedFile(Path file, int pointsCount) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(MappedTabulatedFunction.HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MappedTabulatedFunction.MAGIC);
+            header.putInt(MappedTabulatedFunction.VERSION);
+            header.putLong(pointsCount);
+            header.flip();
+            writeFully(channel, header, 0);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Записывает точки [start, start + count) в столбцы x и y
+    private static void writeMappedBlock(FileChannel channel, ByteBuffer buffer, int pointsCount, int start,
+                                         double[] xValues, double[] yValues, int count) throws IOException {
+        long xOffset = MappedTabulatedFunction.HEADER_SIZE + 8L * start;
+        long yOffset = xOffset + 8L * pointsCount;
+
+        buffer.clear();
+        buffer.asDoubleBuffer().put(xValues, 0, count);
+        buffer.limit(8 * count);
+        writeFully(channel, buffer, xOffset);
+
+        buffer.clear();
+        buffer.asDoubleBuffer().put(yValues, 0, count);
+        buffer.limit(8 * count);
+        writeFully(channel, buffer, yOffset);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // ==================== Сжатый двоичный формат ====================
+
+    /**
+     * Выводит табулированную функцию в байтовый поток в сжатом формате.
+     * Равномерная сетка хранится как границы отрезка, иные координаты x - разностями второго
+     * порядка, значения y - XOR с предыдущим значением; точки разбиты на блоки с индексом,
+     * так что отрезок функции можно прочитать без чтения остальных блоков.
+     * Точки восстанавливаются без потерь.
+     *
+     * <p><strong>Обоснование закрытия потоков:</strong> Поток НЕ закрывается внутри метода,
+     * так как метод получает уже открытый поток и не должен управлять его жизненным циклом.</p>
+     *
+     * @param function табулированная функция для вывода
+     * @param out выходной байтовый поток
+     * @throws NullPointerException если function или out равны null
+     * @throws IOException если произошла ошибка ввода-вывода
+     */
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function, OutputStream out)
+            throws IOException {
+        if (function == null) {
+            throw new NullPointerException("Функция не может быть null");
+        }
+        if (out == null) {
+            throw new NullPointerException("Выходной поток не может быть null");
+        }
+        TabulatedFunctionCodec.write(function, out, TabulatedFunctionCodec.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Вводит табулированную функцию, записанную outputCompressedTabulatedFunction.
+     * Из потока читается ровно столько байт, сколько занимает функция.
+     * Функция с равномерной сеткой создается фабрикой по границам отрезка.
+     *
+     * <p><strong>Обоснование закрытия потоков:</strong> Поток НЕ закрывается внутри метода,
+     * так как он может использоваться для дальнейшего чтения после вызова метода.</p>
+     *
+     * @param in входной байтовый поток
+     * @return восстановленная табулированная функция
+     * @throws NullPointerException если in равен null
+     * @throws IOException если произошла ошибка ввода-вывода или данные некорректны
+     */
+    public static TabulatedFunction inputCompressedTabulatedFunction(InputStream in) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Входной поток не может быть null");
+        }
+        return TabulatedFunctionCodec.read(in);
+    }
+
+    /**
+     * Вводит часть табулированной функции, записанной outputCompressedTabulatedFunction,
+     * читая из канала только индекс и блоки, которые содержат точки отрезка [leftX, rightX].
+     * На этом отрезке (в пределах области определения исходной функции) значения
+     * восстановленной функции совпадают с исходными.
+     *
+     * @param in канал с произвольным доступом, позиция которого указывает на начало функции
+     * @param leftX левая граница нужного отрезка
+     * @param rightX правая граница нужного отрезка
+     * @return табулированная функция из точек прочитанных блоков
+     * @throws NullPointerException если in равен null
+     * @throws IllegalArgumentException если leftX больше rightX
+     * @throws IOException если произошла ошибка ввода-вывода или данные некорректны
+     */
+    public static TabulatedFunction inputCompressedTabulatedFunction(SeekableByteChannel in,
+                                                                     double leftX, double rightX) throws IOException {
+        if (in == null) {
+            throw new NullPointerException("Входной канал не может быть null");
+        }
+        return TabulatedFunctionCodec.read(in, leftX, rightX);
     }
 
     /**
@@ -0,0 +1,526 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Табулированная функция на равномерной сетке.
+ * Хранит только левую границу, шаг и массив значений y; координата i-й точки
+ * вычисляется как leftX + i * step - так же, как в конструкторах (leftX, rightX, ...)
+ * остальных реализаций, поэтому координаты совпадают побитово.
+ * Отрезок для getFunctionValue находится арифметически за O(1).
+ *
+ * Как только изменение (addPoint, setPointX, deletePoint не последней точки) нарушает
+ * равномерность, функция один раз переходит к общему представлению
+ * DoubleArrayTabulatedFunction и дальше делегирует ему все вызовы
+ */
+public class UniformTabulatedFunction implements TabulatedFunction, Serializable {
+    private static final long serialVersionUID = 7L;
+    private static final double EPSILON = 1e-10; // Точность для сравнения double
+
+    private double leftX;
+    private double step;
+    private double[] yValues;
+    private int size;
+
+    // Общее представление; не null после нарушения равномерности сетки
+    private DoubleArrayTabulatedFunction general;
+
+    /**
+     * Фабрика, создающая UniformTabulatedFunction для равномерных сеток.
+     * Функции из произвольных точек создаются фабрикой общего вида
+     */
+    public static class UniformTabulatedFunctionFactory implements TabulatedFunctionFactory {
+        private final TabulatedFunctionFactory generalFactory;
+
+        public UniformTabulatedFunctionFactory() {
+            this(new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory());
+        }
+
+        /**
+         * @param generalFactory фабрика для функций, заданных произвольными точками
+         */
+        public UniformTabulatedFunctionFactory(TabulatedFunctionFactory generalFactory) {
+            if (generalFactory == null) {
+                throw new IllegalArgumentException("Фабрика не может быть null");
+            }
+            this.generalFactory = generalFactory;
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new UniformTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new UniformTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return generalFactory.createTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+            return generalFactory.createTabulatedFunction(xValues, yValues);
+        }
+    }
+
+    // Конструкторы
+    public UniformTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be at least 2");
+        }
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("leftX must be less than rightX");
+        }
+
+        this.leftX = leftX;
+        this.step = (rightX - leftX) / (pointsCount - 1);
+        this.yValues = new double[pointsCount + 2];
+        this.size = pointsCount;
+    }
+
+    public UniformTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (values.length < 2) {
+            throw new IllegalArgumentException("values array must have at least 2 elements");
+        }
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("leftX must be less than rightX");
+        }
+
+        this.leftX = leftX;
+        this.step = (rightX - leftX) / (values.length - 1);
+        this.yValues = new double[values.length + 2];
+        this.size = values.length;
+        System.arraycopy(values, 0, yValues, 0, size);
+    }
+
+    /**
+     * Проверяет, хранится ли функция в равномерном представлении
+     * @return true, если сетка по-прежнему равномерная
+     */
+    public boolean isUniform() {
+        return general == null;
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ TabulatedFunction ===
+    @Override
+    public int getPointsCount() {
+        if (general != null) {
+            return general.getPointsCount();
+        }
+        return size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) throws FunctionPointIndexOutOfBoundsException {
+        if (general != null) {
+            return general.getPoint(index);
+        }
+        checkIndex(index);
+        return new FunctionPoint(xAt(index), yValues[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        if (general == null) {
+            checkIndex(index);
+            if (Double.compare(point.getX(), xAt(index)) == 0) {
+                yValues[index] = point.getY();
+                return;
+            }
+            if (!isValidXPosition(index, point.getX())) {
+                throw new InappropriateFunctionPointException(
+                        "New x-coordinate " + point.getX() + " at index " + index +
+                                " would violate the ordering of points"
+                );
+            }
+            convertToGeneral();
+        }
+        general.setPoint(index, point);
+    }
+
+    @Override
+    public double getPointX(int index) throws FunctionPointIndexOutOfBoundsException {
+        if (general != null) {
+            return general.getPointX(index);
+        }
+        checkIndex(index);
+        return xAt(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws FunctionPointIndexOutOfBoundsException, InappropriateFunctionPointException {
+        if (general == null) {
+            checkIndex(index);
+            if (Math.abs(xAt(index) - x) < EPSILON) {
+                return;
+            }
+            if (!isValidXPosition(index, x)) {
+                throw new InappropriateFunctionPointException(
+                        "New x-coordinate " + x + " at index " + index +
+                                " would violate the ordering of points"
+                );
+            }
+            convertToGeneral();
+        }
+        general.setPointX(index, x);
+    }
+
+    @Override
+    public double getPointY(int index) throws FunctionPointIndexOutOfBoundsException {
+        if (general != null) {
+            return general.getPointY(index);
+        }
+        checkIndex(index);
+        return yValues[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) throws FunctionPointIndexOutOfBoundsException {
+        if (general != null) {
+            general.setPointY(index, y);
+            return;
+        }
+        checkIndex(index);
+        yValues[index] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) throws FunctionPointIndexOutOfBoundsException, IllegalStateException {
+        if (general == null) {
+            checkIndex(index);
+            if (size <= 2) {
+                throw new IllegalStateException("Cannot delete point - function must have at least 2 points");
+            }
+            // Удаление последней точки сохраняет сетку: остальные координаты не меняются
+            if (index == size - 1) {
+                size--;
+                return;
+            }
+            convertToGeneral();
+        }
+        general.deletePoint(index);
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (general == null) {
+            double x = point.getX();
+
+            // Точка ровно на следующем узле сетки справа сохраняет равномерность
+            if (Double.compare(x, xAt(size)) == 0 && x > xAt(size - 1)) {
+                if (size >= yValues.length) {
+                    double[] newArray = new double[yValues.length * 3 / 2 + 1];
+                    System.arraycopy(yValues, 0, newArray, 0, size);
+                    yValues = newArray;
+                }
+                yValues[size] = point.getY();
+                size++;
+                return;
+            }
+
+            // Точка с уже существующей координатой отклоняется без смены представления
+            int insertIndex = findInsertIndex(x);
+            if (insertIndex < size && Math.abs(xAt(insertIndex) - x) < EPSILON) {
+                throw new InappropriateFunctionPointException("Point with x=" + x + " already exists");
+            }
+            convertToGeneral();
+        }
+        general.addPoint(point);
+    }
+
+    @Override
+    public void printFunction() {
+        if (general != null) {
+            general.printFunction();
+            return;
+        }
+
+        System.out.println("Табулированная функция (равномерная сетка):");
+        System.out.println("-----------------------");
+
+        for (int i = 0; i < size; i++) {
+            System.out.printf("Точка %d: (%.4f, %.4f)%n", i, xAt(i), yValues[i]);
+        }
+
+        System.out.println("-----------------------");
+        System.out.printf("Область определения: [%.4f, %.4f]%n",
+                getLeftDomainBorder(), getRightDomainBorder());
+        System.out.printf("Шаг сетки: %.6f%n", step);
+        System.out.printf("Количество точек: %d%n", getPointsCount());
+    }
+
+    // === РЕАЛИЗАЦИЯ МЕТОДОВ ИЗ Function ===
+    @Override
+    public double getLeftDomainBorder() {
+        if (general != null) {
+            return general.getLeftDomainBorder();
+        }
+        return leftX;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        if (general != null) {
+            return general.getRightDomainBorder();
+        }
+        return xAt(size - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (general != null) {
+            return general.getFunctionValue(x);
+        }
+
+        // Отрицание сравнений отсекает и NaN
+        if (!(x >= leftX && x <= xAt(size - 1))) {
+            return Double.NaN;
+        }
+
+        // Оценка индекса по сетке с поправкой на округление: ищем первую точку,
+        // для которой x - x[i] < EPSILON, как и двоичный поиск в других реализациях
+        int index = Math.min((int) ((x - leftX) / step), size - 1);
+        while (index > 0 && x - xAt(index - 1) < EPSILON) {
+            index--;
+        }
+        while (index < size && !(x - xAt(index) < EPSILON)) {
+            index++;
+        }
+        if (index == size) {
+            return Double.NaN;
+        }
+
+        // Точка ближе EPSILON - возвращаем её значение, иначе x лежит строго внутри отрезка [index - 1, index]
+        double x2 = xAt(index);
+        if (Math.abs(x - x2) < EPSILON) {
+            return yValues[index];
+        }
+        double x1 = xAt(index - 1);
+        double y1 = yValues[index - 1];
+        double k = (yValues[index] - y1) / (x2 - x1);
+        return y1 + k * (x - x1);
+    }
+
+    /**
+     * В равномерном представлении отрезок и так находится за O(1), поэтому курсор
+     * нужен только после перехода к общему представлению: тогда он работает через курсор
+     * DoubleArrayTabulatedFunction
+     */
+    @Override
+    public TabulatedFunctionCursor cursor() {
+        return new TabulatedFunctionCursor() {
+            private TabulatedFunctionCursor generalCursor;
+
+            @Override
+            public double getLeftDomainBorder() {
+                return UniformTabulatedFunction.this.getLeftDomainBorder();
+            }
+
+            @Override
+            public double getRightDomainBorder() {
+                return UniformTabulatedFunction.this.getRightDomainBorder();
+            }
+
+            @Override
+            public double getFunctionValue(double x) {
+                if (general == null) {
+                    return UniformTabulatedFunction.this.getFunctionValue(x);
+                }
+                if (generalCursor == null) {
+                    generalCursor = general.cursor();
+                }
+                return generalCursor.getFunctionValue(x);
+            }
+
+            @Override
+            public void reset() {
+                if (generalCursor != null) {
+                    generalCursor.reset();
+                }
+            }
+        };
+    }
+
+    /**
+     * Пакетное вычисление: на сетке каждое значение находится за O(1),
+     * после перехода к общему представлению используется пакетный путь DoubleArrayTabulatedFunction
+     */
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        if (general != null) {
+            general.getFunctionValues(arguments, values, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(arguments[i]);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        if (general != null) {
+            general.getFunctionValues(startX, step, values, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(startX + i * step);
+        }
+    }
+
+    // === ПЕРЕОПРЕДЕЛЕННЫЕ МЕТОДЫ Object ===
+
+    /**
+     * Возвращает текстовое описание табулированной функции
+     * @return строковое представление функции в формате {(x1; y1), (x2; y2), ...}
+     */
+    @Override
+    public String toString() {
+        if (general != null) {
+            return general.toString();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        for (int i = 0; i < size; i++) {
+            sb.append("(");
+            sb.append(xAt(i));
+            sb.append("; ");
+            sb.append(yValues[i]);
+            sb.append(")");
+
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Сравнивает текущую табулированную функцию с другим объектом
+     * @param obj объект для сравнения
+     * @return true, если объекты равны (оба являются TabulatedFunction с одинаковыми точками)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (general != null) {
+            return general.equals(obj);
+        }
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof TabulatedFunction)) {
+            return false;
+        }
+
+        TabulatedFunction otherFunc = (TabulatedFunction) obj;
+
+        if (this.size != otherFunc.getPointsCount()) {
+            return false;
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Double.compare(xAt(i), otherFunc.getPointX(i)) != 0 ||
+                        Double.compare(yValues[i], otherFunc.getPointY(i)) != 0) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Возвращает хэш-код табулированной функции.
+     * Совпадает с хэш-кодом ArrayTabulatedFunction с теми же точками
+     * @return хэш-код, рассчитанный на основе количества точек и координат всех точек
+     */
+    @Override
+    public int hashCode() {
+        if (general != null) {
+            return general.hashCode();
+        }
+
+        int result = size;
+
+        for (int i = 0; i < size; i++) {
+            // То же значение, что и FunctionPoint.hashCode() = Objects.hash(x, y)
+            int pointHash = 31 * (31 + Double.hashCode(xAt(i))) + Double.hashCode(yValues[i]);
+            result = 31 * result + pointHash;
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object clone() {
+        if (general != null) {
+            return general.clone();
+        }
+
+        return new UniformTabulatedFunction(leftX, step, yValues.clone(), size);
+    }
+
+    // Конструктор для клонирования: массив используется без копирования и проверок
+    private UniformTabulatedFunction(double leftX, double step, double[] yValues, int size) {
+        this.leftX = leftX;
+        this.step = step;
+        this.yValues = yValues;
+        this.size = size;
+    }
+
+    // Вспомогательные методы
+    private double xAt(int index) {
+        return leftX + index * step;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+
+    private boolean isValidXPosition(int index, double newX) {
+        if (index > 0 && newX <= xAt(index - 1) + EPSILON) {
+            return false;
+        }
+        if (index < size - 1 && newX >= xAt(index + 1) - EPSILON) {
+            return false;
+        }
+        return true;
+    }
+
+    private int findInsertIndex(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xAt(mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void convertToGeneral() {
+        double[] xValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = xAt(i);
+        }
+        general = new DoubleArrayTabulatedFunction(xValues, Arrays.copyOf(yValues, size));
+        yValues = null;
+    }
+}
@@ -23,6 +23,20 @@ public class Cos extends TrigonometricFunction {
         return Math.cos(x);
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.cos(arguments[i]);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.cos(startX + i * step);
+        }
+    }
+
     @Override
     public String toString() {
         return "Cos";
@@ -42,4 +42,18 @@ public class Exp implements Function {
         // Экспонента определена для всех действительных чисел
         return Math.exp(x);
     }
+
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(arguments[i]);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(startX + i * step);
+        }
+    }
 }
@@ -57,6 +57,24 @@ public class Log implements Function {
         return Math.log(x) / Math.log(base);
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double logBase = Math.log(base);
+        for (int i = 0; i < count; i++) {
+            double x = arguments[i];
+            values[i] = x <= 0 ? Double.NaN : Math.log(x) / logBase;
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double logBase = Math.log(base);
+        for (int i = 0; i < count; i++) {
+            double x = startX + i * step;
+            values[i] = x <= 0 ? Double.NaN : Math.log(x) / logBase;
+        }
+    }
+
     /**
      * Возвращает основание логарифма
      * @return основание логарифма
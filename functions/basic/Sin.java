@@ -23,6 +23,20 @@ public class Sin extends TrigonometricFunction {
         return Math.sin(x);
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.sin(arguments[i]);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.sin(startX + i * step);
+        }
+    }
+
     @Override
     public String toString() {
         return "Sin";
@@ -24,6 +24,20 @@ public class Tan extends TrigonometricFunction {
         return Math.tan(x);
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.tan(arguments[i]);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.tan(startX + i * step);
+        }
+    }
+
     @Override
     public String toString() {
         return "Tan";
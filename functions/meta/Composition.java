@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 /**
@@ -69,6 +70,40 @@ public class Composition implements Function {
         return outer.getFunctionValue(innerValue);
     }
 
+    /**
+     * Пакетное вычисление: внутренняя функция считается целым массивом, недопустимые
+     * промежуточные значения заменяются на NaN, затем целым массивом считается внешняя функция
+     */
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        double outerLeft = outer.getLeftDomainBorder();
+        double outerRight = outer.getRightDomainBorder();
+
+        double[] innerValues = new double[count];
+        inner.getFunctionValues(arguments, innerValues, count);
+
+        ArrayMath.maskOutside(arguments, left, right, innerValues, count);
+        ArrayMath.maskOutside(innerValues, outerLeft, outerRight, innerValues, count);
+
+        outer.getFunctionValues(innerValues, values, count);
+
+        // Внешняя функция может не вернуть NaN для аргумента NaN (например, константа)
+        for (int i = 0; i < count; i++) {
+            if (Double.isNaN(innerValues[i])) {
+                values[i] = Double.NaN;
+            }
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
+    }
+
     /**
      * Возвращает внешнюю функцию
      * @return внешняя функция
@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 /**
@@ -63,6 +64,30 @@ public class Mult implements Function {
         return value1 * value2;
     }
 
+    /**
+     * Пакетное вычисление: обе функции считаются целыми массивами, затем значения перемножаются.
+     * NaN в любом из множителей дает NaN так же, как явная проверка в getFunctionValue
+     */
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        double[] secondValues = new double[count];
+
+        first.getFunctionValues(arguments, values, count);
+        second.getFunctionValues(arguments, secondValues, count);
+
+        ArrayMath.multiply(values, secondValues, values, count);
+        ArrayMath.maskOutside(arguments, left, right, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
+    }
+
     /**
      * Возвращает первую функцию
      * @return первая функция
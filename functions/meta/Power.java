@@ -1,13 +1,32 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 /**
  * Класс для представления функции в степени: f(x) = [g(x)]^power
  */
 public class Power implements Function {
+    // Наибольший модуль целой степени, которая вычисляется умножениями.
+    // Погрешность умножений растет со степенью (до n единиц последнего разряда),
+    // поэтому большие степени по-прежнему считаются через Math.pow
+    private static final int MAX_INTEGER_EXPONENT = 8;
+
+    /**
+     * Способ возведения в степень, выбираемый в конструкторе по значению степени
+     */
+    private enum Mode {
+        INTEGER,    // целая степень: повторное возведение в квадрат
+        SQRT,       // степень 0.5: Math.sqrt
+        RECIPROCAL, // степень -1: 1 / x
+        CBRT,       // степень 1/3: Math.cbrt
+        GENERAL     // остальные степени: Math.pow
+    }
+
     private final Function baseFunction;
     private final double power;
+    private final Mode mode;
+    private final int exponent; // целая степень для режима INTEGER
 
     /**
      * Конструктор степени функции
@@ -20,6 +39,19 @@ public class Power implements Function {
         }
         this.baseFunction = baseFunction;
         this.power = power;
+
+        if (power == -1) {
+            this.mode = Mode.RECIPROCAL;
+        } else if (power == 0.5) {
+            this.mode = Mode.SQRT;
+        } else if (power == 1.0 / 3.0) {
+            this.mode = Mode.CBRT;
+        } else if (power == Math.rint(power) && Math.abs(power) <= MAX_INTEGER_EXPONENT) {
+            this.mode = Mode.INTEGER;
+        } else {
+            this.mode = Mode.GENERAL;
+        }
+        this.exponent = mode == Mode.INTEGER ? (int) power : 0;
     }
 
     /**
@@ -59,22 +91,131 @@ public class Power implements Function {
             return Double.NaN;
         }
 
-        // Проверка на отрицательное основание и нецелую степень
-        if (baseValue < 0 && !isInteger(power)) {
-            // Math.pow вернет NaN для отрицательного основания с нецелой степенью
-            return Math.pow(baseValue, power);
+        return raise(baseValue);
+    }
+
+    /**
+     * Возводит значение в степень так же, как getFunctionValue возводит значение базовой функции.
+     * Результат совпадает с Math.pow с точностью до нескольких единиц последнего разряда,
+     * а для -0.0, бесконечностей и отрицательных значений - в точности
+     * @param value значение, не равное NaN
+     * @return value в степени power
+     */
+    public double raise(double value) {
+        switch (mode) {
+            case INTEGER:
+                return integerPower(value, exponent);
+            case SQRT:
+                return sqrtPower(value);
+            case RECIPROCAL:
+                return 1.0 / value;
+            case CBRT:
+                return cbrtPower(value);
+            default:
+                return Math.pow(value, power);
         }
+    }
 
-        return Math.pow(baseValue, power);
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+
+        baseFunction.getFunctionValues(arguments, values, count);
+
+        // Режим выбирается один раз на весь массив; все режимы, кроме нулевой степени, сохраняют NaN
+        switch (mode) {
+            case INTEGER:
+                if (exponent == 2) {
+                    ArrayMath.square(values, values, count);
+                } else if (exponent == 0) {
+                    for (int i = 0; i < count; i++) {
+                        values[i] = Double.isNaN(values[i]) ? Double.NaN : 1.0;
+                    }
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        values[i] = integerPower(values[i], exponent);
+                    }
+                }
+                break;
+            case SQRT:
+                for (int i = 0; i < count; i++) {
+                    values[i] = sqrtPower(values[i]);
+                }
+                break;
+            case RECIPROCAL:
+                for (int i = 0; i < count; i++) {
+                    values[i] = 1.0 / values[i];
+                }
+                break;
+            case CBRT:
+                for (int i = 0; i < count; i++) {
+                    values[i] = cbrtPower(values[i]);
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    values[i] = Math.pow(values[i], power);
+                }
+                break;
+        }
+
+        ArrayMath.maskOutside(arguments, left, right, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
     }
 
     /**
-     * Проверяет, является ли число целым
-     * @param value число для проверки
-     * @return true если число целое (с учетом погрешности)
+     * Возведение в целую степень повторным возведением в квадрат: O(log n) умножений.
+     * Отрицательная степень вычисляется как 1 / x^|n|; если x^|n| переполняется
+     * или выходит в денормализованные числа, 1 / x^|n| теряет результат
+     * (например, дает 0 вместо денормализованного числа), и тогда используется Math.pow
      */
-    private boolean isInteger(double value) {
-        return Math.abs(value - Math.round(value)) < 1e-10;
+    private static double integerPower(double value, int exponent) {
+        int n = Math.abs(exponent);
+        double result = 1.0;
+        double square = value;
+        while (n != 0) {
+            if ((n & 1) != 0) {
+                result *= square;
+            }
+            n >>>= 1;
+            if (n != 0) {
+                square *= square;
+            }
+        }
+        if (exponent >= 0) {
+            return result;
+        }
+        if (Double.isInfinite(result) || Math.abs(result) < Double.MIN_NORMAL) {
+            return Math.pow(value, exponent);
+        }
+        return 1.0 / result;
+    }
+
+    // Math.pow(x, 0.5) отличается от Math.sqrt(x) только для -0.0 и минус бесконечности
+    private static double sqrtPower(double value) {
+        if (value == Double.NEGATIVE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // Прибавление нуля превращает -0.0 в 0.0
+        return Math.sqrt(value) + 0.0;
+    }
+
+    // Math.pow(x, 1/3) не определен для отрицательных x, в отличие от Math.cbrt
+    private static double cbrtPower(double value) {
+        if (value == Double.NEGATIVE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (value < 0) {
+            return Double.NaN;
+        }
+        return Math.cbrt(value) + 0.0;
     }
 
     /**
@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 /**
@@ -90,6 +91,31 @@ public class Scale implements Function {
         return yScale * originalValue;
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        double functionLeft = function.getLeftDomainBorder();
+        double functionRight = function.getRightDomainBorder();
+
+        double[] scaledArguments = new double[count];
+        ArrayMath.scale(arguments, xScale, scaledArguments, count);
+
+        function.getFunctionValues(scaledArguments, values, count);
+
+        // NaN исходной функции остается NaN и после умножения
+        ArrayMath.scale(values, yScale, values, count);
+        ArrayMath.maskOutside(arguments, left, right, values, count);
+        ArrayMath.maskOutside(scaledArguments, functionLeft, functionRight, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
+    }
+
     /**
      * Возвращает исходную функцию
      * @return исходная функция
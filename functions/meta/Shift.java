@@ -1,5 +1,6 @@
 package functions.meta;
 
+import functions.ArrayMath;
 import functions.Function;
 
 /**
@@ -73,6 +74,31 @@ public class Shift implements Function {
         return yShift + originalValue;
     }
 
+    @Override
+    public void getFunctionValues(double[] arguments, double[] values, int count) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        double functionLeft = function.getLeftDomainBorder();
+        double functionRight = function.getRightDomainBorder();
+
+        double[] shiftedArguments = new double[count];
+        ArrayMath.shift(arguments, xShift, shiftedArguments, count);
+
+        function.getFunctionValues(shiftedArguments, values, count);
+
+        // NaN исходной функции остается NaN и после сдвига
+        ArrayMath.shift(values, yShift, values, count);
+        ArrayMath.maskOutside(arguments, left, right, values, count);
+        ArrayMath.maskOutside(shiftedArguments, functionLeft, functionRight, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double startX, double step, double[] values, int count) {
+        double[] arguments = new double[count];
+        ArrayMath.progression(startX, step, arguments, count);
+        getFunctionValues(arguments, values, count);
+    }
+
     /**
      * Возвращает исходную функцию
      * @return исходная функция
@@ -0,0 +1,58 @@
+package threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ожидание с блокировкой: поток засыпает на условии и не тратит процессор.
+ *
+ * Блокировка захватывается при публикации, только если кто-то ждет, поэтому при непрерывном
+ * потоке заданий стратегия почти ничего не стоит. Сигнал, отправленный между неудачной
+ * попыткой и засыпанием, может быть пропущен; такой поток проснется по таймауту
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signalled = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public void idle(int attempt) throws InterruptedException {
+        if (attempt < SPIN_TRIES) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Поток прерван во время ожидания");
+            }
+            Thread.onSpinWait();
+            return;
+        }
+
+        lock.lockInterruptibly();
+        try {
+            waiters.incrementAndGet();
+            try {
+                signalled.awaitNanos(PARK_NANOS);
+            } finally {
+                waiters.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        if (waiters.get() == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            signalled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
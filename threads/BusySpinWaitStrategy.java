@@ -0,0 +1,20 @@
+package threads;
+
+/**
+ * Активное ожидание: поток не отдает процессор и реагирует на новую ячейку быстрее всего.
+ * Подходит, только если у каждого потока конвейера есть собственное ядро
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public void idle(int attempt) throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Поток прерван во время ожидания");
+        }
+        Thread.onSpinWait();
+    }
+
+    @Override
+    public void signalAll() {
+    }
+}
@@ -0,0 +1,201 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Асинхронное интегрирование: каждый метод сразу возвращает CompletableFuture,
+ * а интеграл вычисляется в пуле сервиса.
+ *
+ * Отмена и таймауты останавливают вычисление: если будущее завершилось не результатом
+ * (cancel, orTimeout, completeExceptionally), задание из очереди пула уже не выполняется,
+ * а выполняющий его поток прерывается. Задание запускается как FutureTask, поэтому поток
+ * прерывается в любом пуле, в том числе в ForkJoinPool, отмена собственных задач которого
+ * поток не прерывает. Интегрирование проверяет прерывание один раз на блок точек
+ * и прекращается, освобождая поток пула для следующих заданий. Таймаут задается стандартным
+ * orTimeout у возвращенного будущего:
+ *
+ *     service.integrate(f, 0, 1, 1e-6).orTimeout(100, TimeUnit.MILLISECONDS)
+ *
+ * Ошибки параметров и интегрирования завершают будущее исключением IllegalArgumentException
+ */
+public class IntegrationService implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    /**
+     * Создает сервис с собственным пулом по числу доступных процессоров
+     */
+    public IntegrationService() {
+        this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                IntegrationService::newWorker), true);
+    }
+
+    /**
+     * Создает сервис поверх внешнего пула; close() его не останавливает
+     */
+    public IntegrationService(ExecutorService executor) {
+        this(executor, false);
+    }
+
+    private IntegrationService(ExecutorService executor, boolean ownsExecutor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Пул потоков не может быть null");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Интегрирование методом трапеций с заданным шагом
+     * @see Functions#integrate(Function, double, double, double)
+     */
+    public CompletableFuture<Double> integrate(Function function, double leftBound, double rightBound,
+                                               double step) {
+        return schedule(() -> Functions.integrate(function, leftBound, rightBound, step));
+    }
+
+    /**
+     * Интегрирование задания методом трапеций
+     */
+    public CompletableFuture<Double> integrate(IntegrationTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Задание не может быть null");
+        }
+        return integrate(task.getFunction(), task.getLeftBound(), task.getRightBound(), task.getStep());
+    }
+
+    /**
+     * Адаптивное интегрирование с заданной абсолютной погрешностью
+     * @see Functions#integrateAdaptive(Function, double, double, double, double)
+     */
+    public CompletableFuture<Double> integrateWithTolerance(Function function, double leftBound,
+                                                            double rightBound, double tolerance) {
+        return schedule(() -> Functions.integrateAdaptive(function, leftBound, rightBound, tolerance, 0)
+                .getValue());
+    }
+
+    /**
+     * Интегрирует пакет заданий параллельно
+     * @return будущее со списком интегралов в порядке заданий. Ошибка любого задания завершает
+     * пакет этой ошибкой и отменяет остальные задания; отмена или таймаут пакета отменяют все задания
+     */
+    public CompletableFuture<List<Double>> integrateAll(List<IntegrationTask> tasks) {
+        if (tasks == null) {
+            throw new IllegalArgumentException("Список заданий не может быть null");
+        }
+
+        List<CompletableFuture<Double>> parts = new ArrayList<>(tasks.size());
+        for (IntegrationTask task : tasks) {
+            parts.add(integrate(task));
+        }
+
+        CompletableFuture<List<Double>> batch = new CompletableFuture<>();
+        CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                return;
+            }
+            List<Double> values = new ArrayList<>(parts.size());
+            for (CompletableFuture<Double> part : parts) {
+                values.add(part.join());
+            }
+            batch.complete(values);
+        });
+
+        // allOf ждет все задания, поэтому первая ошибка передается пакету сразу
+        for (CompletableFuture<Double> part : parts) {
+            part.whenComplete((value, error) -> {
+                if (error != null) {
+                    batch.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        batch.whenComplete((values, error) -> {
+            if (error != null) {
+                for (CompletableFuture<Double> part : parts) {
+                    part.cancel(true);
+                }
+            }
+        });
+        return batch;
+    }
+
+    /**
+     * Останавливает собственный пул сервиса; уже отправленные задания выполняются
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ждет завершения собственного пула после close()
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    // Потоки собственного пула не мешают завершению программы, если сервис не закрыт
+    private static Thread newWorker(Runnable runnable) {
+        Thread thread = new Thread(runnable, "integration-service");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // Запускает вычисление в пуле и связывает его с возвращаемым будущим
+    private CompletableFuture<Double> schedule(Callable<Double> job) {
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        AtomicBoolean computed = new AtomicBoolean();
+        FutureTask<Void> execution = new FutureTask<>(() -> {
+            // Будущее уже отменено или завершено по таймауту - вычислять незачем
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                double value = job.call();
+                computed.set(true);
+                result.complete(value);
+            } catch (Throwable e) {
+                computed.set(true);
+                result.completeExceptionally(e);
+            }
+        }, null);
+        // Будущее завершено извне (отмена, таймаут) - прерываем поток вычисления;
+        // ошибку самого вычисления отменять незачем, оно уже закончилось
+        result.whenComplete((value, error) -> {
+            if (error != null && !computed.get()) {
+                execution.cancel(true);
+            }
+        });
+        executor.execute(() -> {
+            execution.run();
+            // Прерывание отмененного задания не должно достаться следующему заданию потока:
+            // ForkJoinPool, в отличие от ThreadPoolExecutor, не сбрасывает его между заданиями.
+            // После run() прерывание от cancel(true) уже доставлено
+            if (execution.isCancelled()) {
+                Thread.interrupted();
+            }
+        });
+        return result;
+    }
+
+    // Ошибки зависимых будущих приходят обернутыми в CompletionException
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,52 @@
+package threads;
+
+import functions.Function;
+
+/**
+ * Неизменяемое задание на интегрирование для очереди TaskQueue.
+ * Все поля задаются в конструкторе, поэтому задание можно передавать между потоками
+ * без дополнительной синхронизации
+ */
+public final class IntegrationTask {
+    private final int number;
+    private final Function function;
+    private final double leftBound;
+    private final double rightBound;
+    private final double step;
+
+    public IntegrationTask(int number, Function function, double leftBound, double rightBound, double step) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        this.number = number;
+        this.function = function;
+        this.leftBound = leftBound;
+        this.rightBound = rightBound;
+        this.step = step;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public double getLeftBound() {
+        return leftBound;
+    }
+
+    public double getRightBound() {
+        return rightBound;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.4f %.4f %.6f", leftBound, rightBound, step);
+    }
+}
@@ -1,5 +1,6 @@
 package threads;
 
+import functions.Function;
 import functions.Functions;
 
 public class Integrator extends Thread {
@@ -23,27 +24,34 @@ public class Integrator extends Thread {
                     throw new InterruptedException("Поток прерван во время интегрирования");
                 }
 
-                double leftBound = 0, rightBound = 0, step = 0;
-                boolean hasNewTask = false;
-
-                // Захватываем семафор для чтения
-                lock.beginRead();
-                try {
-                    // Проверяем, есть ли новые задания для обработки
-                    int currentGenerated = task.getGeneratedCount();
-                    if (currentGenerated > processed) {
-                        hasNewTask = true;
-                        // Читаем данные из задания
+                // Сначала читаем задание оптимистически, без захвата семафора
+                long stamp = lock.tryOptimisticRead();
+                int currentGenerated = task.getGeneratedCount();
+                Function function = task.getFunction();
+                double leftBound = task.getLeftBound();
+                double rightBound = task.getRightBound();
+                double step = task.getStep();
+
+                if (!lock.validate(stamp)) {
+                    // Во время чтения генератор записывал задание - читаем под семафором
+                    lock.beginRead();
+                    try {
+                        currentGenerated = task.getGeneratedCount();
+                        function = task.getFunction();
                         leftBound = task.getLeftBound();
                         rightBound = task.getRightBound();
                         step = task.getStep();
-
-                        // Отладочная информация
-                        System.out.println("Integrator: Получена задача " + (processed + 1) +
-                                " из " + currentGenerated + " сгенерированных");
+                    } finally {
+                        lock.endRead();
                     }
-                } finally {
-                    lock.endRead();
+                }
+
+                // Проверяем, есть ли новые задания для обработки
+                boolean hasNewTask = currentGenerated > processed;
+                if (hasNewTask) {
+                    // Отладочная информация
+                    System.out.println("Integrator: Получена задача " + (processed + 1) +
+                            " из " + currentGenerated + " сгенерированных");
                 }
 
                 if (!hasNewTask) {
@@ -54,7 +62,7 @@ public class Integrator extends Thread {
 
                 // Вычисляем интеграл вне блокировки
                 try {
-                    double integral = Functions.integrate(task.getFunction(), leftBound, rightBound, step);
+                    double integral = Functions.integrate(function, leftBound, rightBound, step);
                     processed++;
                     localProcessedCount++;
 
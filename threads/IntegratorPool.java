@@ -0,0 +1,144 @@
+package threads;
+
+import functions.Functions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул интеграторов на ForkJoinPool с перехватом работы (work stealing).
+ *
+ * Каждое задание выполняется внутри пула через Functions.integrateParallel: интервал с числом
+ * участков больше splitThreshold делится пополам, и половины забирают свободные потоки пула.
+ * Частичные суммы складываются по дереву деления обратно в результат исходного задания,
+ * поэтому одно большое задание занимает все ядра, а небольшие выполняются целиком одним потоком.
+ *
+ * Результат совпадает с Functions.integrateParallel при том же пороге и не зависит
+ * от числа потоков
+ */
+public class IntegratorPool implements AutoCloseable {
+    public static final int DEFAULT_SPLIT_THRESHOLD = 16384;
+
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+
+    /**
+     * Создает пул с числом потоков, равным числу доступных процессоров
+     */
+    public IntegratorPool() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    /**
+     * @param parallelism количество потоков
+     * @param splitThreshold наибольшее количество участков, которое интегрируется одним потоком без деления
+     */
+    public IntegratorPool(int parallelism, int splitThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным: " + parallelism);
+        }
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("Порог деления должен быть положительным: " + splitThreshold);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitThreshold = splitThreshold;
+    }
+
+    /**
+     * Отправляет задание в пул
+     * @return задача, из которой можно получить интеграл (get или join);
+     * ошибка интегрирования передается как IllegalArgumentException
+     */
+    public ForkJoinTask<Double> submit(IntegrationTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Задание не может быть null");
+        }
+        return pool.submit(new JobTask(task));
+    }
+
+    /**
+     * Выполняет задание в пуле и ждет результата
+     * @throws IllegalArgumentException при некорректных параметрах задания
+     */
+    public double invoke(IntegrationTask task) {
+        try {
+            return submit(task).join();
+        } catch (IllegalArgumentException e) {
+            // Исключение из другого потока пул перебрасывает копией, исходное исключение - ее причина
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Отправляет все задания в пул; задания выполняются параллельно друг с другом
+     * @return задачи в порядке заданий
+     */
+    public List<ForkJoinTask<Double>> submitAll(List<IntegrationTask> tasks) {
+        List<ForkJoinTask<Double>> results = new ArrayList<>(tasks.size());
+        for (IntegrationTask task : tasks) {
+            results.add(submit(task));
+        }
+        return results;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Оценка количества частей заданий, выполненных не тем потоком, который их создал
+     */
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Останавливает пул и ждет завершения уже отправленных заданий
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Ждем, пока выполнятся отправленные задания
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Корневая задача задания. integrateParallel, вызванный из потока пула,
+     * делит интервал прямо в этом пуле
+     */
+    private class JobTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntegrationTask task;
+
+        JobTask(IntegrationTask task) {
+            this.task = task;
+        }
+
+        @Override
+        protected Double compute() {
+            return Functions.integrateParallel(task.getFunction(), task.getLeftBound(),
+                    task.getRightBound(), task.getStep(), pool, splitThreshold);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package threads;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Семафор чтения/записи на StampedLock с оптимистическим чтением.
+ *
+ * Читатель, пользующийся tryOptimisticRead/validate, не захватывает блокировку и не мешает
+ * писателю; если между ними была запись, validate вернет false и чтение повторяется под
+ * beginRead. beginRead/beginWrite работают как в Synchronized, но вместо notifyAll очередь
+ * StampedLock будит только тех, кто может продолжить: после записи - группу читателей
+ * или одного писателя.
+ *
+ * Счетчики конкуренции показывают, сколько оптимистических чтений удалось и сколько раз
+ * читателям и писателям пришлось ждать блокировку
+ */
+public class OptimisticSynchronized extends Synchronized {
+    private final StampedLock lock = new StampedLock();
+    private final Lock readLock = lock.asReadLock();
+    private final Lock writeLock = lock.asWriteLock();
+
+    private final LongAdder optimisticReads = new LongAdder();
+    private final LongAdder failedOptimisticReads = new LongAdder();
+    private final LongAdder contendedReads = new LongAdder();
+    private final LongAdder contendedWrites = new LongAdder();
+
+    @Override
+    public void beginRead() throws InterruptedException {
+        if (!readLock.tryLock()) {
+            contendedReads.increment();
+            readLock.lockInterruptibly();
+        }
+    }
+
+    @Override
+    public void endRead() {
+        readLock.unlock();
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        if (!writeLock.tryLock()) {
+            contendedWrites.increment();
+            writeLock.lockInterruptibly();
+        }
+    }
+
+    @Override
+    public void endWrite() {
+        writeLock.unlock();
+    }
+
+    /**
+     * @return метка для validate; 0, если сейчас идет запись
+     */
+    @Override
+    public long tryOptimisticRead() {
+        optimisticReads.increment();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp == 0) {
+            failedOptimisticReads.increment();
+        }
+        return stamp;
+    }
+
+    /**
+     * @return true, если после получения метки не было записи и прочитанные данные согласованы
+     */
+    @Override
+    public boolean validate(long stamp) {
+        if (stamp == 0) {
+            return false;
+        }
+        boolean valid = lock.validate(stamp);
+        if (!valid) {
+            failedOptimisticReads.increment();
+        }
+        return valid;
+    }
+
+    // === СЧЕТЧИКИ КОНКУРЕНЦИИ ===
+
+    public long getOptimisticReads() {
+        return optimisticReads.sum();
+    }
+
+    public long getFailedOptimisticReads() {
+        return failedOptimisticReads.sum();
+    }
+
+    public long getContendedReads() {
+        return contendedReads.sum();
+    }
+
+    public long getContendedWrites() {
+        return contendedWrites.sum();
+    }
+
+    public void resetCounters() {
+        optimisticReads.reset();
+        failedOptimisticReads.reset();
+        contendedReads.reset();
+        contendedWrites.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Optimistic reads: %d (failed %d), contended reads: %d, contended writes: %d",
+                getOptimisticReads(), getFailedOptimisticReads(), getContendedReads(), getContendedWrites());
+    }
+}
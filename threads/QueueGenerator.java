@@ -0,0 +1,59 @@
+package threads;
+
+import functions.basic.Log;
+import java.util.Random;
+
+/**
+ * Генератор заданий для очереди TaskQueue. Несколько генераторов могут работать с одной очередью;
+ * при заполненной очереди генератор ждет, пока интеграторы освободят место
+ */
+public class QueueGenerator extends Thread {
+    private final TaskQueue queue;
+    private final int taskCount;
+    private final Random random;
+    private int generatedCount = 0;
+
+    public QueueGenerator(TaskQueue queue, int taskCount) {
+        this.queue = queue;
+        this.taskCount = taskCount;
+        this.random = new Random();
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Поток прерван во время генерации");
+                }
+
+                double base = 1 + random.nextDouble() * 9;
+                if (Math.abs(base - 1.0) < 1e-10) base = 1.1;
+
+                double leftBound = random.nextDouble() * 100;
+                double rightBound = 100 + random.nextDouble() * 100;
+                double step = random.nextDouble();
+                if (step < 1e-10) step = 0.01;
+
+                IntegrationTask task = new IntegrationTask(i + 1, new Log(base), leftBound, rightBound, step);
+                queue.put(task);
+                generatedCount++;
+
+                System.out.println("Генератор [" + getId() + "]: Задание " + (i + 1) + "/" + taskCount +
+                        " - Source " + task);
+            }
+
+            System.out.println("Генератор [" + getId() + "]: Все " + taskCount + " заданий сгенерированы");
+
+        } catch (InterruptedException e) {
+            System.out.println("Генератор [" + getId() + "]: Прерван - " + e.getMessage());
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            System.out.println("Генератор [" + getId() + "]: Очередь закрыта - " + e.getMessage());
+        }
+    }
+
+    public int getGeneratedCount() {
+        return generatedCount;
+    }
+}
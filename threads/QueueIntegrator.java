@@ -0,0 +1,54 @@
+package threads;
+
+import functions.Functions;
+
+/**
+ * Интегратор заданий из очереди TaskQueue. Несколько интеграторов могут работать с одной очередью;
+ * интегратор ждет новых заданий без опроса и завершается, когда очередь закрыта и пуста
+ */
+public class QueueIntegrator extends Thread {
+    private final TaskQueue queue;
+    private int processedCount = 0;
+    private int failedCount = 0;
+
+    public QueueIntegrator(TaskQueue queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public void run() {
+        try {
+            IntegrationTask task;
+            while ((task = queue.take()) != null) {
+                // Вычисляем интеграл вне блокировки очереди
+                try {
+                    double integral = Functions.integrate(task.getFunction(),
+                            task.getLeftBound(), task.getRightBound(), task.getStep());
+                    processedCount++;
+
+                    System.out.println("Интегратор [" + getId() + "]: Result " +
+                            task + String.format(" %.10f", integral));
+                } catch (Exception e) {
+                    failedCount++;
+                    System.out.println("Интегратор [" + getId() + "]: Ошибка в задании " +
+                            task.getNumber() + " - " + e.getMessage());
+                }
+            }
+
+            System.out.println("Интегратор [" + getId() + "]: Очередь закрыта, обработано " +
+                    processedCount + " заданий");
+
+        } catch (InterruptedException e) {
+            System.out.println("Интегратор [" + getId() + "]: Прерван - " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+}
@@ -0,0 +1,78 @@
+package threads;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Семафор чтения/записи с той же логикой, что и Synchronized (писатели имеют приоритет),
+ * но на ReentrantLock вместо монитора объекта.
+ *
+ * Виртуальный поток, ожидающий на мониторе (synchronized + wait), блокирует свой поток-носитель;
+ * ожидание на Condition освобождает носитель для других виртуальных потоков.
+ * Можно передавать в Generator и Integrator вместо Synchronized
+ */
+public class ReentrantSynchronized extends Synchronized {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private int readers = 0;
+    private int writers = 0;
+    private int writeRequests = 0;
+
+    @Override
+    public void beginRead() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (writers > 0 || writeRequests > 0) {
+                changed.await();
+            }
+            readers++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void endRead() {
+        lock.lock();
+        try {
+            readers--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            writeRequests++;
+            try {
+                while (readers > 0 || writers > 0) {
+                    changed.await();
+                }
+            } catch (InterruptedException e) {
+                // Отмененный запрос не должен задерживать читателей
+                writeRequests--;
+                changed.signalAll();
+                throw e;
+            }
+            writeRequests--;
+            writers++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void endWrite() {
+        lock.lock();
+        try {
+            writers--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package threads;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Кольцевой буфер заданий без блокировок для нескольких генераторов и нескольких интеграторов.
+ *
+ * Ячейки RingSlot создаются заранее, поэтому передача задания ничего не выделяет.
+ * У каждой ячейки есть счетчик sequence; по нему поток определяет, свободна ли ячейка
+ * для записи с номером pos (sequence == pos) или заполнена для чтения (sequence == pos + 1).
+ * Номер ячейки занимается через compareAndSet общего счетчика записи или чтения,
+ * а пока ячейка не готова, поток ждет по стратегии WaitStrategy.
+ *
+ * Генератор: claim, заполнение get(sequence), publish.
+ * Интегратор: take, чтение get(sequence), release. После close() и выборки всех
+ * опубликованных заданий take возвращает -1. close() вызывается, когда все генераторы
+ * опубликовали свои задания
+ */
+public class RingBuffer {
+    private final RingSlot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    private final AtomicLong writePosition = new AtomicLong();
+    private final AtomicLong readPosition = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Создает кольцо
+     * @param capacity количество ячеек, степень двойки
+     * @param waitStrategy стратегия ожидания
+     * @throws IllegalArgumentException если capacity не степень двойки или waitStrategy равна null
+     */
+    public RingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Емкость кольца должна быть степенью двойки: " + capacity);
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Стратегия ожидания не может быть null");
+        }
+        this.slots = new RingSlot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new RingSlot();
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Занимает ячейку для записи, ожидая, пока интеграторы освободят место
+     * @return номер занятой ячейки
+     * @throws IllegalStateException если кольцо закрыто
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public long claim() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Кольцо заданий закрыто");
+        }
+        int attempt = 0;
+        long pos = writePosition.get();
+        while (true) {
+            long difference = sequences.get(index(pos)) - pos;
+            if (difference == 0) {
+                if (writePosition.compareAndSet(pos, pos + 1)) {
+                    return pos;
+                }
+            } else if (difference < 0) {
+                // Кольцо заполнено: ячейка еще не освобождена после предыдущего круга
+                if (closed) {
+                    throw new IllegalStateException("Кольцо заданий закрыто");
+                }
+                waitStrategy.idle(attempt++);
+            }
+            pos = writePosition.get();
+        }
+    }
+
+    /**
+     * Публикует заполненную ячейку для интеграторов
+     */
+    public void publish(long sequence) {
+        sequences.set(index(sequence), sequence + 1);
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Занимает опубликованную ячейку для чтения, ожидая ее появления
+     * @return номер ячейки или -1, если кольцо закрыто и все задания выбраны
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public long take() throws InterruptedException {
+        int attempt = 0;
+        long pos = readPosition.get();
+        while (true) {
+            long difference = sequences.get(index(pos)) - (pos + 1);
+            if (difference == 0) {
+                if (readPosition.compareAndSet(pos, pos + 1)) {
+                    return pos;
+                }
+            } else if (difference < 0) {
+                // Кольцо пусто. Флаг читается до повторной проверки ячейки: все публикации
+                // выполнены до close(), и если ячейка по-прежнему пуста, заданий больше не будет
+                if (closed && sequences.get(index(pos)) - (pos + 1) < 0) {
+                    return -1;
+                }
+                waitStrategy.idle(attempt++);
+            }
+            pos = readPosition.get();
+        }
+    }
+
+    /**
+     * Возвращает ячейку для записи или чтения по номеру, полученному из claim или take
+     */
+    public RingSlot get(long sequence) {
+        return slots[index(sequence)];
+    }
+
+    /**
+     * Освобождает прочитанную ячейку для следующего круга записи
+     */
+    public void release(long sequence) {
+        // Ссылку на функцию не держим дольше, чем нужно
+        slots[index(sequence)].set(0, null, 0, 0, 0);
+        sequences.set(index(sequence), sequence + slots.length);
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Закрывает кольцо: опубликованные задания по-прежнему выдаются через take,
+     * после них take возвращает -1
+     */
+    public void close() {
+        closed = true;
+        waitStrategy.signalAll();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,64 @@
+package threads;
+
+import functions.Function;
+import functions.basic.Log;
+import java.util.Random;
+
+/**
+ * Генератор заданий для кольца RingBuffer. Логарифмы создаются заранее, а параметры
+ * записываются прямо в ячейку кольца, поэтому на задание ничего не выделяется.
+ * Интервал интегрирования начинается в [1, 100] и имеет длину от width / 2 до width
+ */
+public class RingGenerator extends Thread {
+    private static final int FUNCTION_COUNT = 16;
+
+    private final RingBuffer ring;
+    private final int taskCount;
+    private final double width;
+    private final double step;
+    private final Function[] functions;
+    private final Random random;
+    private int generatedCount = 0;
+
+    public RingGenerator(RingBuffer ring, int taskCount, double width, double step) {
+        if (width <= 0 || step <= 0) {
+            throw new IllegalArgumentException("Длина интервала и шаг должны быть положительными");
+        }
+        this.ring = ring;
+        this.taskCount = taskCount;
+        this.width = width;
+        this.step = step;
+        this.random = new Random();
+
+        // Основания от 1.5 до 9
+        this.functions = new Function[FUNCTION_COUNT];
+        for (int i = 0; i < FUNCTION_COUNT; i++) {
+            functions[i] = new Log(1.5 + 7.5 * i / (FUNCTION_COUNT - 1));
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                Function function = functions[random.nextInt(FUNCTION_COUNT)];
+                double leftBound = 1 + random.nextDouble() * 99;
+                double rightBound = leftBound + width * (0.5 + random.nextDouble() * 0.5);
+
+                long sequence = ring.claim();
+                ring.get(sequence).set(i + 1, function, leftBound, rightBound, step);
+                ring.publish(sequence);
+                generatedCount++;
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Генератор [" + getId() + "]: Прерван - " + e.getMessage());
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            System.out.println("Генератор [" + getId() + "]: Кольцо закрыто - " + e.getMessage());
+        }
+    }
+
+    public int getGeneratedCount() {
+        return generatedCount;
+    }
+}
@@ -0,0 +1,58 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+
+/**
+ * Интегратор заданий из кольца RingBuffer. Параметры копируются из ячейки, и ячейка сразу
+ * освобождается, чтобы генераторы не ждали окончания интегрирования.
+ * Результаты не выводятся, а накапливаются в контрольной сумме: при миллионах заданий
+ * в секунду вывод каждого результата стал бы узким местом
+ */
+public class RingIntegrator extends Thread {
+    private final RingBuffer ring;
+    private int processedCount = 0;
+    private int failedCount = 0;
+    private double checksum = 0.0;
+
+    public RingIntegrator(RingBuffer ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public void run() {
+        try {
+            long sequence;
+            while ((sequence = ring.take()) >= 0) {
+                RingSlot slot = ring.get(sequence);
+                Function function = slot.getFunction();
+                double leftBound = slot.getLeftBound();
+                double rightBound = slot.getRightBound();
+                double step = slot.getStep();
+                ring.release(sequence);
+
+                try {
+                    checksum += Functions.integrate(function, leftBound, rightBound, step);
+                    processedCount++;
+                } catch (IllegalArgumentException e) {
+                    failedCount++;
+                }
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Интегратор [" + getId() + "]: Прерван - " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public double getChecksum() {
+        return checksum;
+    }
+}
@@ -0,0 +1,47 @@
+package threads;
+
+import functions.Function;
+
+/**
+ * Ячейка кольца RingBuffer с параметрами задания на интегрирование.
+ * Ячейки создаются один раз вместе с кольцом и переиспользуются: генератор заполняет ячейку
+ * между claim и publish, интегратор читает ее между take и release
+ */
+public final class RingSlot {
+    private int number;
+    private Function function;
+    private double leftBound;
+    private double rightBound;
+    private double step;
+
+    RingSlot() {
+    }
+
+    public void set(int number, Function function, double leftBound, double rightBound, double step) {
+        this.number = number;
+        this.function = function;
+        this.leftBound = leftBound;
+        this.rightBound = rightBound;
+        this.step = step;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public double getLeftBound() {
+        return leftBound;
+    }
+
+    public double getRightBound() {
+        return rightBound;
+    }
+
+    public double getStep() {
+        return step;
+    }
+}
@@ -30,4 +30,15 @@ public class Synchronized {
         writers--;
         notifyAll();
     }
+
+    // Оптимистическое чтение без захвата: данные читаются между tryOptimisticRead и validate,
+    // и если validate вернул false, чтение повторяется под beginRead/endRead.
+    // Этот семафор оптимистическое чтение не поддерживает: 0 означает "сразу читать под блокировкой"
+    public long tryOptimisticRead() {
+        return 0;
+    }
+
+    public boolean validate(long stamp) {
+        return false;
+    }
 }
\ No newline at end of file
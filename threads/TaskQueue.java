@@ -0,0 +1,163 @@
+package threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ограниченная очередь заданий для нескольких генераторов и нескольких интеграторов.
+ *
+ * Задания хранятся в кольцевом массиве фиксированной емкости. put ждет свободного места,
+ * поэтому быстрые генераторы притормаживаются до скорости интеграторов и ни одно задание
+ * не теряется; offer с таймаутом позволяет генератору самому решить, что делать при переполнении.
+ * take ждет задания; после close() очередь отдает оставшиеся задания, а затем возвращает null -
+ * это сигнал интеграторам завершиться
+ */
+public class TaskQueue {
+    private final IntegrationTask[] items;
+    private int head = 0;  // Индекс следующего задания для take
+    private int tail = 0;  // Индекс следующей свободной ячейки для put
+    private int count = 0;
+    private boolean closed = false;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    public TaskQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Емкость очереди должна быть положительной: " + capacity);
+        }
+        this.items = new IntegrationTask[capacity];
+    }
+
+    /**
+     * Добавляет задание, ожидая свободного места
+     * @throws IllegalStateException если очередь закрыта
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public void put(IntegrationTask task) throws InterruptedException {
+        checkTask(task);
+        lock.lockInterruptibly();
+        try {
+            while (count == items.length && !closed) {
+                notFull.await();
+            }
+            checkOpen();
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет задание, ожидая свободного места не дольше timeout
+     * @return true если задание добавлено, false если место не освободилось за отведенное время
+     * @throws IllegalStateException если очередь закрыта
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public boolean offer(IntegrationTask task, long timeout, TimeUnit unit) throws InterruptedException {
+        checkTask(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == items.length && !closed) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            checkOpen();
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Извлекает задание, ожидая его появления
+     * @return задание или null, если очередь закрыта и пуста
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public IntegrationTask take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Закрывает очередь: новые задания не принимаются, ожидающие потоки просыпаются.
+     * Уже добавленные задания по-прежнему выдаются через take
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return items.length;
+    }
+
+    // Вспомогательные методы; вызываются под блокировкой
+    private void enqueue(IntegrationTask task) {
+        items[tail] = task;
+        tail = (tail + 1) % items.length;
+        count++;
+        notEmpty.signal();
+    }
+
+    private IntegrationTask dequeue() {
+        IntegrationTask task = items[head];
+        items[head] = null;
+        head = (head + 1) % items.length;
+        count--;
+        notFull.signal();
+        return task;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Очередь заданий закрыта");
+        }
+    }
+
+    private static void checkTask(IntegrationTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Задание не может быть null");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Выполнение заданий в виртуальных потоках.
+ *
+ * Виртуальные потоки появились в Java 21; методы ищутся через отражение, поэтому класс
+ * компилируется и работает и на более ранних версиях. Без виртуальных потоков задания
+ * выполняются в пуле из FALLBACK_THREADS_PER_PROCESSOR потоков на процессор.
+ *
+ * В виртуальных потоках следует использовать ReentrantSynchronized вместо Synchronized:
+ * ожидание на мониторе не освобождает поток-носитель
+ */
+public final class VirtualThreads {
+    /** Потоков на процессор в запасном пуле: задания могут ждать ввода-вывода */
+    public static final int FALLBACK_THREADS_PER_PROCESSOR = 4;
+
+    private static final Method NEW_EXECUTOR = findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+    private static final Method START_THREAD = findMethod(Thread.class, "startVirtualThread", Runnable.class);
+
+    private VirtualThreads() {
+        throw new AssertionError("Нельзя создавать объекты утилитного класса VirtualThreads");
+    }
+
+    /**
+     * Проверяет, поддерживает ли среда выполнения виртуальные потоки
+     */
+    public static boolean isAvailable() {
+        return NEW_EXECUTOR != null && START_THREAD != null;
+    }
+
+    /**
+     * Создает исполнитель, запускающий каждое задание в новом виртуальном потоке.
+     * Без виртуальных потоков возвращает пул фиксированного размера
+     */
+    public static ExecutorService newExecutor() {
+        if (NEW_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Переходим к пулу обычных потоков
+            }
+        }
+        return Executors.newFixedThreadPool(
+                FALLBACK_THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Запускает задание в новом виртуальном потоке, без виртуальных потоков - в обычном
+     * @return запущенный поток
+     */
+    public static Thread start(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Задание не может быть null");
+        }
+        if (START_THREAD != null) {
+            try {
+                return (Thread) START_THREAD.invoke(null, task);
+            } catch (ReflectiveOperationException e) {
+                // Переходим к обычному потоку
+            }
+        }
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
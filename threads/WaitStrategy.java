@@ -0,0 +1,22 @@
+package threads;
+
+/**
+ * Стратегия ожидания для RingBuffer: что делает поток, когда ячейка кольца еще не готова.
+ *
+ * RingBuffer вызывает idle после каждой неудачной попытки занять ячейку и signalAll
+ * после каждой публикации или освобождения ячейки
+ */
+public interface WaitStrategy {
+
+    /**
+     * Ожидание перед следующей попыткой
+     * @param attempt номер неудачной попытки подряд, начиная с 0
+     * @throws InterruptedException если поток прерван
+     */
+    void idle(int attempt) throws InterruptedException;
+
+    /**
+     * Будит потоки, ожидающие в idle. Для стратегий без блокировки ничего не делает
+     */
+    void signalAll();
+}
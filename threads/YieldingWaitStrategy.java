@@ -0,0 +1,25 @@
+package threads;
+
+/**
+ * Ожидание с уступкой процессора: сначала короткое активное ожидание,
+ * затем Thread.yield() на каждой попытке. Работает и при потоках больше, чем ядер
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void idle(int attempt) throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Поток прерван во время ожидания");
+        }
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+    }
+}
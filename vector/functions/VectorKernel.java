@@ -0,0 +1,126 @@
+package functions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Ядра ArrayMath на Vector API. Загружается только через ArrayMath, если доступен модуль
+ * jdk.incubator.vector. Лежит в отдельном каталоге исходников vector и компилируется
+ * отдельно с --add-modules jdk.incubator.vector (см. Readme.md); без этого класса
+ * ArrayMath использует скалярные ядра.
+ *
+ * Каждая операция повторяет скалярную формулу без перестановки и слияния операций
+ * (умножение и сложение не заменяются на fma), поэтому результаты совпадают побитово.
+ * Хвост массива, не кратный длине вектора, обрабатывается скалярным кодом
+ */
+class VectorKernel extends ArrayMath.ScalarKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void progression(double start, double step, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        DoubleVector lanes = DoubleVector.zero(SPECIES).addIndex(1);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            // Номера i + lane точно представимы в double, как и (double) i в скалярной формуле
+            lanes.add(i).mul(step).add(start).intoArray(result, i);
+        }
+        progression(start, step, result, bound, count);
+    }
+
+    @Override
+    public void add(double[] a, double[] b, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.add(vb).intoArray(result, i);
+        }
+        add(a, b, result, bound, count);
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.mul(vb).intoArray(result, i);
+        }
+        multiply(a, b, result, bound, count);
+    }
+
+    @Override
+    public void scale(double[] a, double factor, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(factor).intoArray(result, i);
+        }
+        scale(a, factor, result, bound, count);
+    }
+
+    @Override
+    public void shift(double[] a, double offset, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).add(offset).intoArray(result, i);
+        }
+        shift(a, offset, result, bound, count);
+    }
+
+    @Override
+    public void square(double[] a, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            va.mul(va).intoArray(result, i);
+        }
+        square(a, result, bound, count);
+    }
+
+    @Override
+    public void maskOutside(double[] arguments, double left, double right, double[] values, int count) {
+        int bound = SPECIES.loopBound(count);
+        DoubleVector nan = DoubleVector.broadcast(SPECIES, Double.NaN);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, arguments, i);
+            // Сравнения с NaN ложны, как и в скалярном x < left || x > right
+            VectorMask<Double> outside = x.compare(VectorOperators.LT, left)
+                    .or(x.compare(VectorOperators.GT, right));
+            DoubleVector.fromArray(SPECIES, values, i).blend(nan, outside).intoArray(values, i);
+        }
+        maskOutside(arguments, left, right, values, bound, count);
+    }
+
+    @Override
+    public void interpolate(double[] xs, double[] ys, int[] segments,
+                            double[] arguments, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            // Концы отрезков собираются из таблицы по номерам отрезков (gather)
+            DoubleVector x1 = DoubleVector.fromArray(SPECIES, xs, 0, segments, i);
+            DoubleVector x2 = DoubleVector.fromArray(SPECIES, xs, 1, segments, i);
+            DoubleVector y1 = DoubleVector.fromArray(SPECIES, ys, 0, segments, i);
+            DoubleVector y2 = DoubleVector.fromArray(SPECIES, ys, 1, segments, i);
+            DoubleVector k = y2.sub(y1).div(x2.sub(x1));
+            DoubleVector x = DoubleVector.fromArray(SPECIES, arguments, i);
+            y1.add(k.mul(x.sub(x1))).intoArray(result, i);
+        }
+        interpolate(xs, ys, segments, arguments, result, bound, count);
+    }
+
+    @Override
+    public void trapezoids(double[] x, double[] f, double[] result, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector f1 = DoubleVector.fromArray(SPECIES, f, i);
+            DoubleVector f2 = DoubleVector.fromArray(SPECIES, f, i + 1);
+            DoubleVector x1 = DoubleVector.fromArray(SPECIES, x, i);
+            DoubleVector x2 = DoubleVector.fromArray(SPECIES, x, i + 1);
+            f1.add(f2).mul(x2.sub(x1)).div(2.0).intoArray(result, i);
+        }
+        trapezoids(x, f, result, bound, count);
+    }
+}